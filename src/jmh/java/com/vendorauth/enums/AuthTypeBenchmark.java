@@ -0,0 +1,34 @@
+package com.vendorauth.enums;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of auth type names from configuration and request input, for a
+ * canonical name, the separator and case variants, and an unknown value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AuthTypeBenchmark {
+
+    @Param({"OAUTH2", "api-key", "Basic", "unknown"})
+    public String value;
+
+    @Benchmark
+    public AuthType fromString() {
+        return AuthType.fromString(value);
+    }
+
+    @Benchmark
+    public boolean isValidAuthType() {
+        return AuthType.isValidAuthType(value);
+    }
+}
@@ -0,0 +1,59 @@
+package com.vendorauth.mybatis.typehandler;
+
+import com.vendorauth.enums.AuthType;
+import org.apache.ibatis.type.JdbcType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures an AuthType round-trip through the MyBatis type handler: binding it as a
+ * statement parameter and reading it back from a result set column.
+ *
+ * The JDBC objects are in-memory stubs holding a single column value, so only the
+ * handler's own conversion cost is measured, not a driver's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AuthTypeHandlerBenchmark {
+
+    @Param({"OAUTH2", "API_KEY", "CUSTOM"})
+    public AuthType authType;
+
+    private final AuthTypeHandler handler = new AuthTypeHandler();
+    private String column;
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+
+    @Setup
+    public void setUp() {
+        statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("setString")) {
+                        column = (String) args[1];
+                    }
+                    return null;
+                });
+        resultSet = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) ->
+                        method.getName().equals("getString") ? column : null);
+    }
+
+    @Benchmark
+    public AuthType roundTrip() throws SQLException {
+        handler.setParameter(statement, 1, authType, JdbcType.VARCHAR);
+        return handler.getResult(resultSet, "auth_type");
+    }
+}
@@ -0,0 +1,73 @@
+package com.vendorauth.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.Authentication;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures token issuance and verification through JwtTokenProvider, which reuses its
+ * signing key and parser, against building both per call (the provider's previous behavior).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    // HS512 requires a key of at least 512 bits
+    private static final String SECRET =
+            "benchmark-secret-key-0123456789-0123456789-0123456789-0123456789-0123456789";
+
+    private static final Map<String, Object> CLAIMS = Map.of("roles", List.of("ROLE_USER"));
+
+    private JwtTokenProvider tokenProvider;
+    private Date expiration;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        tokenProvider.setJwtSecret(SECRET);
+        expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        token = tokenProvider.generateToken("benchmark-user", CLAIMS, expiration);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken("benchmark-user", CLAIMS, expiration);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public Claims validateTokenWithPerCallParser() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
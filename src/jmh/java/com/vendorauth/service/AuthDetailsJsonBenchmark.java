@@ -0,0 +1,71 @@
+package com.vendorauth.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing of typical vendor {@code authDetailsJson} payloads with
+ * {@link ObjectMapper#readTree(String)}, as done when an authenticator profile is compiled.
+ * The payloads are the sample configurations created by DataInitializer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AuthDetailsJsonBenchmark {
+
+    private static final Map<String, String> PAYLOADS = Map.of(
+            "oauth2", "{\n" +
+                    "  \"clientId\": \"sample_client_id\",\n" +
+                    "  \"clientSecret\": \"sample_client_secret\",\n" +
+                    "  \"authUrl\": \"https://api.oauth2vendor.com/oauth/authorize\",\n" +
+                    "  \"tokenUrl\": \"https://api.oauth2vendor.com/oauth/token\",\n" +
+                    "  \"scope\": \"read write\"\n" +
+                    "}",
+            "apiKey", "{\n" +
+                    "  \"apiKeyHeader\": \"X-API-Key\",\n" +
+                    "  \"apiKeyQueryParam\": \"api_key\",\n" +
+                    "  \"authMethod\": \"header\"\n" +
+                    "}",
+            "basic", "{\n" +
+                    "  \"realm\": \"VendorAPI\",\n" +
+                    "  \"encoding\": \"UTF-8\"\n" +
+                    "}",
+            "jwt", "{\n" +
+                    "  \"secretKey\": \"my-super-secret-jwt-key-that-is-at-least-32-characters-long\",\n" +
+                    "  \"issuer\": \"jwt-vendor\",\n" +
+                    "  \"audience\": \"vendor-auth-service\",\n" +
+                    "  \"algorithm\": \"HS256\",\n" +
+                    "  \"expirationMinutes\": 60,\n" +
+                    "  \"validateExpiration\": true,\n" +
+                    "  \"validateIssuer\": true,\n" +
+                    "  \"validateAudience\": true\n" +
+                    "}");
+
+    @Param({"oauth2", "apiKey", "basic", "jwt"})
+    public String payload;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String json;
+
+    @Setup
+    public void setUp() {
+        json = PAYLOADS.get(payload);
+    }
+
+    @Benchmark
+    public JsonNode readTree() throws JsonProcessingException {
+        return objectMapper.readTree(json);
+    }
+}
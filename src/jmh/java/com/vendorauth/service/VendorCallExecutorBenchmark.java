@@ -0,0 +1,109 @@
+package com.vendorauth.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.http.VendorHttpClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load comparison of the vendor call executor on platform threads (the default) and on
+ * virtual threads ({@code spring.threads.virtual.enabled=true}).
+ *
+ * Each operation issues a burst of concurrent calls to an in-process stub vendor that
+ * answers after a fixed latency, the way slow vendor token endpoints do, and waits for
+ * all of them. The platform pool is sized as in application.yml, so throughput there is
+ * bounded by pool size / latency; virtual threads are bounded only by the in-flight limit.
+ *
+ * Run with {@code ./gradlew jmh -PjmhIncludes=VendorCallExecutorBenchmark}; the
+ * {@code virtual} mode requires Java 21.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class VendorCallExecutorBenchmark {
+
+    private static final int VENDOR_LATENCY_MS = 50;
+    private static final int CALLS_PER_BURST = 512;
+    private static final byte[] TOKEN_RESPONSE = "{\"access_token\":\"stub\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    private HttpServer vendorStub;
+    private ExecutorService vendorStubThreads;
+    private VendorHttpClient httpClient;
+    private VendorCallExecutor vendorCallExecutor;
+    private RestTemplate restTemplate;
+    private String vendorUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // The stub would otherwise close idle keep-alive connections beyond 200 (JDK default)
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(CALLS_PER_BURST * 2));
+        vendorStubThreads = Executors.newCachedThreadPool();
+        vendorStub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        vendorStub.setExecutor(vendorStubThreads);
+        vendorStub.createContext("/token", exchange -> {
+            try {
+                Thread.sleep(VENDOR_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Drain the request and send a sized body so the connection stays reusable
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, TOKEN_RESPONSE.length);
+            exchange.getResponseBody().write(TOKEN_RESPONSE);
+            exchange.close();
+        });
+        vendorStub.start();
+        vendorUrl = "http://127.0.0.1:" + vendorStub.getAddress().getPort() + "/token";
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Connection pool sized so that it is not the bottleneck in either mode
+        httpClient = new VendorHttpClient(meterRegistry, CALLS_PER_BURST, CALLS_PER_BURST,
+                Duration.ofSeconds(5), Duration.ofSeconds(30));
+        restTemplate = httpClient.restTemplate(VendorConfig.builder().vendorId("stub").timeoutSeconds(10).build());
+        vendorCallExecutor = new VendorCallExecutor(meterRegistry, 64, 1000, "virtual".equals(mode));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        vendorCallExecutor.shutdown();
+        httpClient.close();
+        vendorStub.stop(0);
+        vendorStubThreads.shutdownNow();
+    }
+
+    /**
+     * One burst of concurrent vendor calls; ops/s x CALLS_PER_BURST = vendor calls/s
+     */
+    @Benchmark
+    public int burst() {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[CALLS_PER_BURST];
+        for (int i = 0; i < CALLS_PER_BURST; i++) {
+            calls[i] = CompletableFuture.runAsync(
+                    () -> restTemplate.getForEntity(vendorUrl, String.class), vendorCallExecutor.executor());
+        }
+        CompletableFuture.allOf(calls).join();
+        return calls.length;
+    }
+}
@@ -0,0 +1,163 @@
+package com.vendorauth.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vendorauth.dto.AuthenticationRequest;
+import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.entity.VendorApiKey;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.enums.AuthType;
+import com.vendorauth.mapper.VendorApiKeyMapper;
+import com.vendorauth.repository.VendorApiKeyRepository;
+import com.vendorauth.service.AuthenticatorProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures authentication through the JWT (CUSTOM) and API key authenticators with a
+ * compiled profile, as served by the authentication service, and for JWT also with the
+ * configuration compiled on every call.
+ *
+ * The vendor configurations match the samples created by DataInitializer. API keys are
+ * validated against an in-memory key index of 100,000 keys, with a known and an unknown key.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AuthenticatorBenchmark {
+
+    private static final int INDEXED_API_KEYS = 100_000;
+
+    private JwtTokenAuthenticator jwtAuthenticator;
+    private ApiKeyAuthenticator apiKeyAuthenticator;
+    private VendorConfig jwtVendor;
+    private AuthenticatorProfile jwtProfile;
+    private AuthenticatorProfile apiKeyProfile;
+    private AuthenticationRequest jwtRequest;
+    private AuthenticationRequest apiKeyRequest;
+    private AuthenticationRequest unknownApiKeyRequest;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        jwtAuthenticator = new JwtTokenAuthenticator(objectMapper);
+        apiKeyAuthenticator = new ApiKeyAuthenticator(objectMapper, apiKeyRepository());
+
+        jwtVendor = VendorConfig.builder()
+                .vendorId("jwt-vendor")
+                .authType(AuthType.CUSTOM)
+                .authDetailsJson("{\n" +
+                        "  \"secretKey\": \"my-super-secret-jwt-key-that-is-at-least-32-characters-long\",\n" +
+                        "  \"issuer\": \"jwt-vendor\",\n" +
+                        "  \"audience\": \"vendor-auth-service\",\n" +
+                        "  \"algorithm\": \"HS256\",\n" +
+                        "  \"expirationMinutes\": 60,\n" +
+                        "  \"validateExpiration\": true,\n" +
+                        "  \"validateIssuer\": true,\n" +
+                        "  \"validateAudience\": true\n" +
+                        "}")
+                .active(true)
+                .updatedAt(LocalDateTime.now())
+                .build();
+        jwtProfile = jwtAuthenticator.compile(jwtVendor);
+        jwtRequest = AuthenticationRequest.builder()
+                .token(jwtAuthenticator.generateJwtToken(jwtProfile, "benchmark-user"))
+                .build();
+
+        VendorConfig apiKeyVendor = VendorConfig.builder()
+                .vendorId("apikey-vendor")
+                .authType(AuthType.API_KEY)
+                .authDetailsJson("{\n" +
+                        "  \"apiKeyHeader\": \"X-API-Key\",\n" +
+                        "  \"apiKeyQueryParam\": \"api_key\",\n" +
+                        "  \"authMethod\": \"header\"\n" +
+                        "}")
+                .active(true)
+                .updatedAt(LocalDateTime.now())
+                .build();
+        apiKeyProfile = apiKeyAuthenticator.compile(apiKeyVendor);
+        apiKeyRequest = AuthenticationRequest.builder()
+                .token("benchmark-api-key-0123456789")
+                .build();
+        unknownApiKeyRequest = AuthenticationRequest.builder()
+                .token("unknown-api-key-0123456789")
+                .build();
+    }
+
+    @Benchmark
+    public AuthenticationResponse jwtAuthenticate() {
+        return jwtAuthenticator.authenticate(jwtProfile, jwtRequest);
+    }
+
+    @Benchmark
+    public AuthenticationResponse jwtAuthenticateCompilingConfig() {
+        return jwtAuthenticator.authenticate(jwtVendor, jwtRequest);
+    }
+
+    @Benchmark
+    public AuthenticationResponse apiKeyAuthenticate() {
+        return apiKeyAuthenticator.authenticate(apiKeyProfile, apiKeyRequest);
+    }
+
+    @Benchmark
+    public AuthenticationResponse apiKeyAuthenticateUnknownKey() {
+        return apiKeyAuthenticator.authenticate(apiKeyProfile, unknownApiKeyRequest);
+    }
+
+    /**
+     * Key store indexing the benchmark key among {@link #INDEXED_API_KEYS} keys of other
+     * vendors, backed by a mapper without a database
+     */
+    private static VendorApiKeyRepository apiKeyRepository() {
+        VendorApiKeyRepository repository = new VendorApiKeyRepository(new InMemoryApiKeyMapper(),
+                new SimpleMeterRegistry(), "benchmark-api-key-hmac-secret-0123456789", Duration.ofMinutes(10));
+        repository.create("apikey-vendor", "benchmark-api-key-0123456789", null, null);
+        for (int i = 0; i < INDEXED_API_KEYS; i++) {
+            repository.create("vendor-" + (i % 1000), "api-key-" + i, null, null);
+        }
+        return repository;
+    }
+
+    private static final class InMemoryApiKeyMapper implements VendorApiKeyMapper {
+
+        @Override
+        public List<VendorApiKey> findActive() {
+            return List.of();
+        }
+
+        @Override
+        public VendorApiKey findById(Long id) {
+            return null;
+        }
+
+        @Override
+        public LocalDateTime findLatestUpdate() {
+            return null;
+        }
+
+        @Override
+        public List<VendorApiKey> findUpdatedSince(LocalDateTime since) {
+            return List.of();
+        }
+
+        @Override
+        public int insert(VendorApiKey apiKey) {
+            return 1;
+        }
+
+        @Override
+        public int revoke(Long id, LocalDateTime updatedAt) {
+            return 1;
+        }
+    }
+}
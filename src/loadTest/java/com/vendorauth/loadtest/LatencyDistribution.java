@@ -0,0 +1,59 @@
+package com.vendorauth.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Response latency of a stub vendor endpoint.
+ *
+ * Parsed from {@code fixed:20ms}, {@code uniform:10ms..50ms} (min..max) or
+ * {@code lognormal:20ms..200ms} (median..p99); the log-normal form gives the long tail
+ * typical of real vendor token endpoints.
+ */
+record LatencyDistribution(Kind kind, Duration first, Duration second) {
+
+    private static final double Z_99 = 2.3263;
+
+    enum Kind { FIXED, UNIFORM, LOGNORMAL }
+
+    static LatencyDistribution parse(String spec) {
+        int colon = spec.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Expected <kind>:<durations>, got: " + spec);
+        }
+        Kind kind = Kind.valueOf(spec.substring(0, colon).trim().toUpperCase());
+        String[] bounds = spec.substring(colon + 1).split("\\.\\.");
+        Duration first = DurationStyle.detectAndParse(bounds[0].trim());
+        if (kind == Kind.FIXED) {
+            return new LatencyDistribution(kind, first, first);
+        }
+        if (bounds.length != 2) {
+            throw new IllegalArgumentException("Expected two durations separated by '..', got: " + spec);
+        }
+        return new LatencyDistribution(kind, first, DurationStyle.detectAndParse(bounds[1].trim()));
+    }
+
+    long sampleNanos() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (kind) {
+            case FIXED -> first.toNanos();
+            case UNIFORM -> random.nextLong(first.toNanos(), second.toNanos() + 1);
+            case LOGNORMAL -> {
+                double mu = Math.log(first.toNanos());
+                double sigma = Math.max(0, (Math.log(second.toNanos()) - mu) / Z_99);
+                yield (long) Math.exp(mu + sigma * random.nextGaussian());
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case FIXED -> "fixed " + first.toMillis() + " ms";
+            case UNIFORM -> "uniform " + first.toMillis() + ".." + second.toMillis() + " ms";
+            case LOGNORMAL -> "log-normal, median " + first.toMillis() + " ms, p99 " + second.toMillis() + " ms";
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.vendorauth.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are started at a fixed target rate regardless of
+ * how quickly earlier ones complete, cycling through the target URIs.
+ *
+ * Latency is measured from each request's scheduled start rather than its actual send
+ * time, so a generator or service that falls behind shows up in the percentiles instead
+ * of being hidden (coordinated omission).
+ */
+final class LoadGenerator {
+
+    /** HTTP status recorded for requests that failed without a response */
+    static final int NO_RESPONSE = -1;
+
+    private final HttpClient client;
+    private final List<URI> targets;
+    private final String body;
+    private final Duration requestTimeout;
+
+    LoadGenerator(List<URI> targets, String body, Duration requestTimeout) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.targets = targets;
+        this.body = body;
+        this.requestTimeout = requestTimeout;
+    }
+
+    Result run(int requestsPerSecond, Duration duration) throws InterruptedException {
+        int total = (int) Math.max(1, requestsPerSecond * duration.toMillis() / 1000);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long[] latencies = new long[total];
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        CountDownLatch completed = new CountDownLatch(total);
+        AtomicLong lastCompletion = new AtomicLong();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = i;
+            HttpRequest request = HttpRequest.newBuilder(targets.get(i % targets.size()))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long now = System.nanoTime();
+                        latencies[index] = now - scheduled;
+                        lastCompletion.accumulateAndGet(now, Math::max);
+                        statuses.computeIfAbsent(error == null ? response.statusCode() : NO_RESPONSE,
+                                status -> new LongAdder()).increment();
+                        completed.countDown();
+                    });
+        }
+        if (!completed.await(requestTimeout.toMillis() + 5000, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Requests did not complete within their timeout");
+        }
+
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new Result(requestsPerSecond, total, Duration.ofNanos(lastCompletion.get() - start),
+                latencies, statusCounts);
+    }
+
+    /**
+     * Outcome of one run; latencies are in nanoseconds.
+     */
+    record Result(int targetRps, int requests, Duration elapsed, long[] latencies, Map<Integer, Long> statusCounts) {
+
+        Result {
+            latencies = latencies.clone();
+            Arrays.sort(latencies);
+        }
+
+        double achievedRps() {
+            return requests * 1e9 / Math.max(1, elapsed.toNanos());
+        }
+
+        Duration percentile(double fraction) {
+            int index = (int) Math.ceil(fraction * latencies.length) - 1;
+            return Duration.ofNanos(latencies[Math.max(0, Math.min(index, latencies.length - 1))]);
+        }
+
+        long successes() {
+            return statusCounts.getOrDefault(200, 0L);
+        }
+    }
+}
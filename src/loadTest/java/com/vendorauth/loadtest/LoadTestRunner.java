@@ -0,0 +1,158 @@
+package com.vendorauth.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vendorauth.VendorAuthenticationServiceApplication;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.enums.AuthType;
+import com.vendorauth.repository.VendorConfigRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test of {@code POST /api/v1/authenticate/vendor/{vendorId}}.
+ *
+ * Boots the application with the {@code loadtest} profile (H2 in MSSQL mode, random port),
+ * starts a {@link StubVendorServer}, seeds vendors that authenticate against it, drives the
+ * endpoint at the target rate and prints latency percentiles and achieved throughput.
+ *
+ * Seeded vendors:
+ * <ul>
+ *   <li>{@code stub-oauth2}: OAuth2 password grant, one token request per call;</li>
+ *   <li>{@code stub-oauth2-cc}: OAuth2 client_credentials, served from the token cache;</li>
+ *   <li>{@code stub-basic}: Basic auth, one validation request per call.</li>
+ * </ul>
+ *
+ * Run with {@code ./gradlew loadTest}; see LOAD_TESTING.md for the parameters.
+ */
+public final class LoadTestRunner {
+
+    private static final String REQUEST_BODY = "{\"username\":\"load-test-user\",\"password\":\"load-test-password\"}";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        try (StubVendorServer stub = StubVendorServer.start(
+                settings.tokenLatency(), settings.basicLatency(), settings.errorRate());
+             ConfigurableApplicationContext app = new SpringApplicationBuilder(
+                     VendorAuthenticationServiceApplication.class, LoadTestSecurityConfig.class)
+                     .profiles("loadtest")
+                     .run(withSigningKeystore(args))) {
+
+            seedVendors(app.getBean(VendorConfigRepository.class), stub.baseUrl(), settings.maxRetries());
+
+            int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            List<URI> targets = settings.vendors().stream()
+                    .map(vendorId -> URI.create("http://127.0.0.1:" + port + "/api/v1/authenticate/vendor/" + vendorId))
+                    .toList();
+            LoadGenerator generator = new LoadGenerator(targets, REQUEST_BODY, REQUEST_TIMEOUT);
+
+            System.out.printf("Warming up for %ds at %d req/s...%n", settings.warmup().toSeconds(), settings.rps());
+            generator.run(settings.rps(), settings.warmup());
+
+            long stubRequestsBefore = stub.requests();
+            long stubErrorsBefore = stub.injectedErrors();
+            System.out.printf("Measuring for %ds at %d req/s...%n", settings.duration().toSeconds(), settings.rps());
+            LoadGenerator.Result result = generator.run(settings.rps(), settings.duration());
+
+            report(settings, result, stub.requests() - stubRequestsBefore, stub.injectedErrors() - stubErrorsBefore);
+        }
+    }
+
+    /**
+     * Points the application at a throwaway signing keystore, since the real one is never
+     * checked in (see keystore/README.md).
+     */
+    private static String[] withSigningKeystore(String[] args) throws IOException, InterruptedException {
+        String[] appArgs = Arrays.copyOf(args, args.length + 1);
+        appArgs[args.length] = "--auth.signing.keystore=" + generateSigningKeystore().toUri();
+        return appArgs;
+    }
+
+    private static Path generateSigningKeystore() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("vendor-auth-loadtest");
+        Path keystore = directory.resolve("auth-jwt.p12");
+        Process keytool = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-alias", "auth-key", "-keyalg", "RSA", "-keysize", "2048",
+                "-storetype", "PKCS12", "-keystore", keystore.toString(),
+                "-storepass", "changeit", "-keypass", "changeit",
+                "-validity", "1", "-dname", "CN=Vendor Auth Load Test")
+                .inheritIO()
+                .start();
+        if (keytool.waitFor() != 0) {
+            throw new IllegalStateException("keytool failed to generate " + keystore);
+        }
+        keystore.toFile().deleteOnExit();
+        directory.toFile().deleteOnExit();
+        return keystore;
+    }
+
+    private static void seedVendors(VendorConfigRepository repository, String stubUrl, int maxRetries)
+            throws JsonProcessingException {
+        repository.save(stubVendor("stub-oauth2", AuthType.OAUTH2, stubUrl, maxRetries, Map.of(
+                "tokenUrl", stubUrl + "/oauth/token",
+                "grantType", "password",
+                "clientId", "load-test-client",
+                "clientSecret", "load-test-secret")));
+        repository.save(stubVendor("stub-oauth2-cc", AuthType.OAUTH2, stubUrl, maxRetries, Map.of(
+                "tokenUrl", stubUrl + "/oauth/token",
+                "grantType", "client_credentials",
+                "clientId", "load-test-client",
+                "clientSecret", "load-test-secret")));
+        repository.save(stubVendor("stub-basic", AuthType.BASIC, stubUrl, maxRetries, Map.of(
+                "authUrl", stubUrl + "/basic",
+                "username", "load-test-user",
+                "password", "load-test-password")));
+    }
+
+    private static VendorConfig stubVendor(String vendorId, AuthType authType, String stubUrl, int maxRetries,
+                                           Map<String, String> authDetails) throws JsonProcessingException {
+        return VendorConfig.builder()
+                .vendorId(vendorId)
+                .vendorName("Load test stub (" + authType + ")")
+                .authType(authType)
+                .authDetailsJson(OBJECT_MAPPER.writeValueAsString(authDetails))
+                .baseUrl(stubUrl)
+                .timeoutSeconds(10)
+                .maxRetries(maxRetries)
+                .active(true)
+                .build();
+    }
+
+    private static void report(LoadTestSettings settings, LoadGenerator.Result result,
+                               long stubRequests, long stubErrors) {
+        System.out.println();
+        System.out.println("Host CPUs:         " + Runtime.getRuntime().availableProcessors()
+                + " (shared by the service, the stub and the load generator)");
+        System.out.println("Vendors:           " + String.join(", ", settings.vendors()));
+        System.out.println("Stub token/basic:  " + settings.tokenLatency() + " / " + settings.basicLatency()
+                + ", error rate " + settings.errorRate());
+        System.out.printf("Requests:          %d in %.1fs%n", result.requests(), result.elapsed().toMillis() / 1000.0);
+        System.out.printf("Throughput:        %.1f req/s achieved (target %d)%n", result.achievedRps(), result.targetRps());
+        System.out.printf("Latency:           p50 %s  p99 %s  p999 %s  max %s%n",
+                millis(result.percentile(0.50)), millis(result.percentile(0.99)),
+                millis(result.percentile(0.999)), millis(result.percentile(1.0)));
+        System.out.println("Status codes:      " + result.statusCounts()
+                + (result.statusCounts().containsKey(LoadGenerator.NO_RESPONSE) ? " (-1 = no response)" : ""));
+        System.out.printf("Stub vendor calls: %d (%d injected errors)%n", stubRequests, stubErrors);
+    }
+
+    private static String millis(Duration duration) {
+        return String.format("%.2fms", duration.toNanos() / 1e6);
+    }
+}
@@ -0,0 +1,60 @@
+package com.vendorauth.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.authorization.config.annotation.web.configuration.OAuth2AuthorizationServerConfiguration;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Opens the vendor authentication endpoints to the load generator. The load test
+ * measures the authentication pipeline behind them, not caller authentication, which
+ * the default security chain would otherwise require for every request.
+ *
+ * Also settles the beans the application context cannot start without:
+ * <ul>
+ *   <li>the AuthenticationManager that AuthController depends on, which is not declared as a bean;</li>
+ *   <li>a JwtDecoder backed by the signing keys, replacing one built from a null JWK Set URI;</li>
+ *   <li>a single PasswordEncoder: ShiroPasswordEncoder is dropped, as it would be a second
+ *       candidate, which the authorization server rejects.</li>
+ * </ul>
+ */
+@Configuration
+public class LoadTestSecurityConfig {
+
+    @Bean
+    @Order(0)
+    public SecurityFilterChain loadTestFilterChain(HttpSecurity http) throws Exception {
+        return http
+            .securityMatcher("/api/v1/authenticate/**")
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+            .csrf(csrf -> csrf.disable())
+            .build();
+    }
+
+    @Bean
+    public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
+        return configuration.getAuthenticationManager();
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource) {
+        return OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+    }
+
+    @Bean
+    public static BeanDefinitionRegistryPostProcessor withoutShiroPasswordEncoder() {
+        return registry -> {
+            if (registry.containsBeanDefinition("shiroPasswordEncoder")) {
+                registry.removeBeanDefinition("shiroPasswordEncoder");
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.vendorauth.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load test parameters, read from {@code loadtest.*} system properties
+ * (passed through by {@code ./gradlew loadTest -Ploadtest.rps=500 ...}).
+ *
+ * @param rps          target request rate
+ * @param duration     length of the measured run
+ * @param warmup       length of the unmeasured run before it, at the same rate
+ * @param vendors      vendor IDs to cycle through (see {@link LoadTestRunner} for the seeded stub vendors)
+ * @param tokenLatency latency of the stub OAuth2 token endpoint
+ * @param basicLatency latency of the stub Basic auth endpoint
+ * @param errorRate    fraction of stub responses that fail with 503
+ * @param maxRetries   max_retries of the seeded stub vendors
+ */
+record LoadTestSettings(int rps, Duration duration, Duration warmup, List<String> vendors,
+                        LatencyDistribution tokenLatency, LatencyDistribution basicLatency,
+                        double errorRate, int maxRetries) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.parseInt(property("rps", "200")),
+                DurationStyle.detectAndParse(property("duration", "30s")),
+                DurationStyle.detectAndParse(property("warmup", "10s")),
+                Arrays.stream(property("vendors", "stub-oauth2,stub-basic").split(","))
+                        .map(String::trim)
+                        .filter(vendorId -> !vendorId.isEmpty())
+                        .toList(),
+                LatencyDistribution.parse(property("token-latency", "lognormal:20ms..150ms")),
+                LatencyDistribution.parse(property("basic-latency", "lognormal:10ms..80ms")),
+                Double.parseDouble(property("error-rate", "0.01")),
+                Integer.parseInt(property("max-retries", "0")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
@@ -0,0 +1,113 @@
+package com.vendorauth.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-process vendor used by the load test, so OAuth2 and Basic authentication can be
+ * driven without calling real vendor URLs.
+ *
+ * <ul>
+ *   <li>{@code POST /oauth/token} answers like an OAuth2 token endpoint;</li>
+ *   <li>{@code GET /basic} accepts any Basic credentials.</li>
+ * </ul>
+ * Each endpoint waits for a latency sampled from its distribution and fails a configurable
+ * fraction of requests with 503. Responses always carry a sized body so that connections
+ * stay reusable by the service's connection pool.
+ */
+final class StubVendorServer implements AutoCloseable {
+
+    private static final byte[] UNAVAILABLE = "{\"error\":\"temporarily_unavailable\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BASIC_OK = "{\"authenticated\":true}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService threads;
+    private final LatencyDistribution tokenLatency;
+    private final LatencyDistribution basicLatency;
+    private final double errorRate;
+    private final AtomicLong tokenSequence = new AtomicLong();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+
+    private StubVendorServer(LatencyDistribution tokenLatency, LatencyDistribution basicLatency,
+                             double errorRate) throws IOException {
+        this.tokenLatency = tokenLatency;
+        this.basicLatency = basicLatency;
+        this.errorRate = errorRate;
+        // The service keeps pooled connections open; don't close them beyond the JDK default of 200
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "10000");
+        this.threads = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.setExecutor(threads);
+        server.createContext("/oauth/token", exchange -> respond(exchange, tokenLatency, this::tokenResponse));
+        server.createContext("/basic", exchange -> respond(exchange, basicLatency, () -> BASIC_OK));
+    }
+
+    static StubVendorServer start(LatencyDistribution tokenLatency, LatencyDistribution basicLatency,
+                                  double errorRate) throws IOException {
+        StubVendorServer stub = new StubVendorServer(tokenLatency, basicLatency, errorRate);
+        stub.server.start();
+        return stub;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long injectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    private void respond(HttpExchange exchange, LatencyDistribution latency, Supplier<byte[]> body) throws IOException {
+        try (exchange) {
+            requests.increment();
+            exchange.getRequestBody().readAllBytes();
+            sleepNanos(latency.sampleNanos());
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.increment();
+                send(exchange, 503, UNAVAILABLE);
+            } else {
+                send(exchange, 200, body.get());
+            }
+        }
+    }
+
+    private byte[] tokenResponse() {
+        return ("{\"access_token\":\"stub-token-" + tokenSequence.incrementAndGet()
+                + "\",\"token_type\":\"Bearer\",\"expires_in\":3600}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        threads.shutdownNow();
+    }
+}
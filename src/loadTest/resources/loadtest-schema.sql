@@ -0,0 +1,30 @@
+-- vendor_configs for H2 in MSSQLServer mode (load test only)
+CREATE TABLE IF NOT EXISTS vendor_configs (
+    id BIGINT IDENTITY PRIMARY KEY,
+    vendor_id VARCHAR(255) NOT NULL UNIQUE,
+    vendor_name VARCHAR(255) NOT NULL,
+    auth_type VARCHAR(50) NOT NULL,
+    auth_details_json CLOB,
+    active BIT NOT NULL DEFAULT 1,
+    base_url VARCHAR(500),
+    timeout_seconds INT DEFAULT 30,
+    max_retries INT DEFAULT 3,
+    description VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_vendor_active ON vendor_configs(active);
+
+CREATE TABLE IF NOT EXISTS vendor_api_keys (
+    id BIGINT IDENTITY PRIMARY KEY,
+    vendor_id VARCHAR(255) NOT NULL,
+    key_digest CHAR(64) NOT NULL UNIQUE,
+    active BIT NOT NULL DEFAULT 1,
+    expires_at TIMESTAMP,
+    description VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_api_key_updated_at ON vendor_api_keys(updated_at);
@@ -3,6 +3,7 @@ package com.vendorauth;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the Vendor Authentication Service.
@@ -12,6 +13,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  */
 @SpringBootApplication
 @MapperScan("com.vendorauth.mapper")
+@EnableScheduling
 public class VendorAuthenticationServiceApplication {
 
     public static void main(String[] args) {
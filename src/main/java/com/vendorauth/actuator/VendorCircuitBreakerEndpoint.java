@@ -0,0 +1,32 @@
+package com.vendorauth.actuator;
+
+import com.vendorauth.service.VendorCircuitBreakers;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing per-vendor circuit breaker state at
+ * {@code /actuator/vendorbreakers} and {@code /actuator/vendorbreakers/{vendorId}}.
+ */
+@Component
+@Endpoint(id = "vendorbreakers")
+@RequiredArgsConstructor
+public class VendorCircuitBreakerEndpoint {
+
+    private final VendorCircuitBreakers circuitBreakers;
+
+    @ReadOperation
+    public Map<String, VendorCircuitBreakers.BreakerSnapshot> breakers() {
+        return circuitBreakers.snapshot();
+    }
+
+    @ReadOperation
+    public VendorCircuitBreakers.BreakerSnapshot breaker(@Selector String vendorId) {
+        return circuitBreakers.snapshot().get(vendorId);
+    }
+}
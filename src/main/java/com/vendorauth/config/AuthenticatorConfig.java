@@ -1,6 +1,9 @@
 package com.vendorauth.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vendorauth.enums.AuthType;
+import com.vendorauth.service.AuthenticationResultCache;
+import com.vendorauth.service.CachingVendorAuthenticator;
 import com.vendorauth.service.VendorAuthenticator;
 import com.vendorauth.service.impl.*;
 import lombok.RequiredArgsConstructor;
@@ -32,20 +35,28 @@ public class AuthenticatorConfig {
      * 2. Add it as a Spring component (@Component)
      * 3. Add the mapping here
      * 
+     * Authenticators that call out to the vendor are wrapped in a
+     * {@link CachingVendorAuthenticator}, so that vendors which opt in are not called
+     * again for credentials that recently succeeded.
+     * 
      * @return Map of AuthType to VendorAuthenticator
      */
     @Bean
     public Map<AuthType, VendorAuthenticator> authenticators() {
         Map<AuthType, VendorAuthenticator> authenticators = new HashMap<>();
+        AuthenticationResultCache resultCache = applicationContext.getBean(AuthenticationResultCache.class);
+        ObjectMapper objectMapper = applicationContext.getBean(ObjectMapper.class);
         
         // Register API Key authenticator
         authenticators.put(AuthType.API_KEY, applicationContext.getBean(ApiKeyAuthenticator.class));
         
         // Register OAuth2 authenticator
-        authenticators.put(AuthType.OAUTH2, applicationContext.getBean(OAuth2Authenticator.class));
+        authenticators.put(AuthType.OAUTH2, new CachingVendorAuthenticator(
+                applicationContext.getBean(OAuth2Authenticator.class), resultCache, objectMapper));
         
         // Register Basic Auth authenticator
-        authenticators.put(AuthType.BASIC, applicationContext.getBean(BasicAuthAuthenticator.class));
+        authenticators.put(AuthType.BASIC, new CachingVendorAuthenticator(
+                applicationContext.getBean(BasicAuthAuthenticator.class), resultCache, objectMapper));
 
         // Map CUSTOM to JwtTokenAuthenticator to support JWT-based vendors under CUSTOM type
         authenticators.put(AuthType.CUSTOM, applicationContext.getBean(JwtTokenAuthenticator.class));
@@ -1,13 +1,25 @@
 package com.vendorauth.config;
 
+import java.util.Optional;
 import java.util.UUID;
 
+import com.vendorauth.security.JwtAuthenticationFilter;
+import com.vendorauth.security.JwtTokenProvider;
+import com.vendorauth.security.PasswordHashExecutor;
+import com.vendorauth.security.PooledPasswordEncoder;
+import com.vendorauth.security.RevokedTokens;
+import com.vendorauth.security.VendorUserCache;
+import com.vendorauth.security.VerifiedTokenCache;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
@@ -20,6 +32,7 @@ import org.springframework.security.oauth2.server.authorization.settings.Authori
 import org.springframework.security.oauth2.server.authorization.settings.ClientSettings;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -39,10 +52,21 @@ public class SecurityConfig {
             .build();
     }
 
+    /**
+     * Requests are authenticated by a bearer JWT that has not been revoked, verified through
+     * the verified-token cache when it is enabled, or else by form login
+     */
     @Bean
     @Order(2)
-    public SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http,
+                                                          JwtTokenProvider tokenProvider,
+                                                          UserDetailsService userDetailsService,
+                                                          Optional<VerifiedTokenCache> tokenCache,
+                                                          RevokedTokens revokedTokens) throws Exception {
         return http
+            .addFilterBefore(new JwtAuthenticationFilter(tokenProvider, userDetailsService, tokenCache.orElse(null),
+                    revokedTokens),
+                UsernamePasswordAuthenticationFilter.class)
             .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
             .formLogin(form -> form.permitAll())
             .build();
@@ -64,9 +88,29 @@ public class SecurityConfig {
         return new InMemoryRegisteredClientRepository(m2m);
     }
 
+    /**
+     * BCrypt, hashed on the shared password-hashing pool rather than request threads
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashExecutor hashExecutor) {
+        return new PooledPasswordEncoder("bcrypt", new BCryptPasswordEncoder(), hashExecutor);
+    }
+
+    /**
+     * Login authentication with a cache of vendor user details, so that repeated logins
+     * skip the user lookup. Stored passwords carry their encoding as an {id} prefix, so
+     * they are checked with the delegating encoder, on the password-hashing pool.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                            VendorUserCache userCache,
+                                                            PasswordHashExecutor hashExecutor) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(new PooledPasswordEncoder("login",
+                PasswordEncoderFactories.createDelegatingPasswordEncoder(), hashExecutor));
+        provider.setUserCache(userCache);
+        return provider;
     }
 
     /**
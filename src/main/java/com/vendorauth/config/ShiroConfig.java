@@ -1,15 +1,22 @@
 package com.vendorauth.config;
 
-import org.apache.shiro.mgt.DefaultSecurityManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vendorauth.repository.VendorConfigRepository;
+import com.vendorauth.security.CaffeineShiroCacheManager;
+import com.vendorauth.security.ShiroPasswordEncoder;
+import com.vendorauth.security.VendorConfigRealm;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.shiro.cache.CacheManager;
 import org.apache.shiro.mgt.SecurityManager;
 import org.apache.shiro.realm.Realm;
-import org.apache.shiro.realm.text.IniRealm;
 import org.apache.shiro.spring.web.ShiroFilterFactoryBean;
 import org.apache.shiro.web.mgt.DefaultWebSecurityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -23,8 +30,10 @@ import java.util.Map;
  * 1. Set spring.profiles.active=shiro in application.yml
  * 2. Exclude Spring Security auto-configuration if needed
  * 
+ * Vendors authenticate through {@link VendorConfigRealm}, whose authentication and
+ * authorization info is cached in bounded, expiring caches ({@code app.shiro.cache.*}).
+ * 
  * DEVELOPMENT: Permits all requests to authentication endpoints.
- * PRODUCTION TODO: Implement proper API security with Shiro realms.
  */
 @Configuration
 @Profile("shiro")
@@ -34,21 +43,33 @@ public class ShiroConfig {
      * Shiro Security Manager configuration
      */
     @Bean
-    public SecurityManager securityManager() {
+    public SecurityManager securityManager(Realm realm, CacheManager shiroCacheManager) {
         DefaultWebSecurityManager securityManager = new DefaultWebSecurityManager();
-        securityManager.setRealm(realm());
+        securityManager.setCacheManager(shiroCacheManager);
+        securityManager.setRealm(realm);
         return securityManager;
     }
     
     /**
-     * Basic realm configuration for development.
-     * In production, replace with custom realm for API key validation.
+     * Bounded, expiring caches for realm authentication and authorization info
+     */
+    @Bean
+    public CacheManager shiroCacheManager(MeterRegistry meterRegistry,
+                                          @Value("${app.shiro.cache.ttl:PT5M}") Duration ttl,
+                                          @Value("${app.shiro.cache.maximum-size:10000}") long maximumSize) {
+        return new CaffeineShiroCacheManager(meterRegistry, ttl, maximumSize);
+    }
+    
+    /**
+     * Realm that authenticates vendors against their configuration (see VendorConfigRealm
+     * for the credential format).
      */
     @Bean
-    public Realm realm() {
-        // Simple INI realm for development
-        IniRealm realm = new IniRealm("classpath:shiro.ini");
-        return realm;
+    public Realm realm(VendorConfigRepository vendorConfigRepository,
+                       ShiroPasswordEncoder passwordEncoder,
+                       ObjectMapper objectMapper,
+                       CacheManager shiroCacheManager) {
+        return new VendorConfigRealm(vendorConfigRepository, passwordEncoder, objectMapper, shiroCacheManager);
     }
     
     /**
@@ -0,0 +1,153 @@
+package com.vendorauth.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.http.VendorHttpClient;
+import com.vendorauth.repository.VendorConfigRepository;
+import com.vendorauth.security.JwtTokenProvider;
+import com.vendorauth.security.VerifiedToken;
+import com.vendorauth.service.AuthenticatorProfile;
+import com.vendorauth.service.VendorAuthenticationService;
+import com.vendorauth.service.VendorCallExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Warms up the authentication hot path at startup, after {@link DataInitializer}.
+ *
+ * Loads all active vendor configurations and compiles their authenticator profiles,
+ * runs a loop of synthetic JWT sign/verify operations so the first real tokens do not
+ * pay for class loading, key construction and interpretation, exercises JSON
+ * serialization of responses, and pre-opens one pooled connection to each host that
+ * authentication calls out to (the OAuth2 token URL or Basic Auth URL of each vendor's
+ * compiled profile; other auth types make no outbound calls).
+ *
+ * Spring Boot reports the readiness state as ACCEPTING_TRAFFIC only after all runners
+ * have completed, so {@code /actuator/health/readiness} stays OUT_OF_SERVICE until
+ * warm-up is done. Failures are logged and never prevent startup.
+ */
+@Component
+@Order(StartupWarmUp.ORDER)
+@ConditionalOnProperty(prefix = "app.warm-up", name = "enabled", matchIfMissing = true)
+@Slf4j
+public class StartupWarmUp implements CommandLineRunner {
+
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private static final String WARM_UP_SUBJECT = "warm-up";
+
+    private final VendorConfigRepository vendorConfigRepository;
+    private final VendorAuthenticationService vendorAuthenticationService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final VendorHttpClient vendorHttpClient;
+    private final VendorCallExecutor vendorCallExecutor;
+    private final ObjectMapper objectMapper;
+    private final int jwtIterations;
+    private final Duration connectTimeout;
+
+    public StartupWarmUp(VendorConfigRepository vendorConfigRepository,
+                         VendorAuthenticationService vendorAuthenticationService,
+                         JwtTokenProvider jwtTokenProvider,
+                         VendorHttpClient vendorHttpClient,
+                         VendorCallExecutor vendorCallExecutor,
+                         ObjectMapper objectMapper,
+                         @Value("${app.warm-up.jwt-iterations:500}") int jwtIterations,
+                         @Value("${app.warm-up.connect-timeout:PT2S}") Duration connectTimeout) {
+        this.vendorConfigRepository = vendorConfigRepository;
+        this.vendorAuthenticationService = vendorAuthenticationService;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.vendorHttpClient = vendorHttpClient;
+        this.vendorCallExecutor = vendorCallExecutor;
+        this.objectMapper = objectMapper;
+        this.jwtIterations = jwtIterations;
+        this.connectTimeout = connectTimeout;
+    }
+
+    @Override
+    public void run(String... args) {
+        long start = System.nanoTime();
+        log.info("Warming up authentication hot path...");
+
+        List<VendorConfig> activeVendors = vendorConfigRepository.findByActiveTrue();
+        List<AuthenticatorProfile> readyVendors = prepareVendors(activeVendors);
+        int jwtRounds = warmUpJwt();
+        warmUpJson();
+        int connections = preconnect(readyVendors);
+
+        log.info("Warm-up completed in {} ms: {}/{} active vendors ready, {} JWT sign/verify rounds, {} vendor connections opened",
+                Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                readyVendors.size(), activeVendors.size(), jwtRounds, connections);
+    }
+
+    private List<AuthenticatorProfile> prepareVendors(List<VendorConfig> activeVendors) {
+        List<AuthenticatorProfile> ready = new ArrayList<>();
+        for (VendorConfig config : activeVendors) {
+            try {
+                vendorAuthenticationService.prepareVendor(config.getVendorId()).ifPresent(ready::add);
+            } catch (RuntimeException e) {
+                log.warn("Warm-up could not prepare vendor {}: {}", config.getVendorId(), e.getMessage());
+            }
+        }
+        return ready;
+    }
+
+    private int warmUpJwt() {
+        UserDetails user = User.withUsername(WARM_UP_SUBJECT)
+                .password("")
+                .authorities("ROLE_USER")
+                .build();
+        int rounds = 0;
+        try {
+            for (; rounds < jwtIterations; rounds++) {
+                String token = jwtTokenProvider.generateToken(user);
+                VerifiedToken verified = jwtTokenProvider.verify(token);
+                jwtTokenProvider.getAuthentication(verified);
+            }
+        } catch (RuntimeException e) {
+            log.warn("JWT warm-up stopped after {} rounds: {}", rounds, e.getMessage());
+        }
+        return rounds;
+    }
+
+    private void warmUpJson() {
+        try {
+            objectMapper.writeValueAsBytes(AuthenticationResponse.success(WARM_UP_SUBJECT, WARM_UP_SUBJECT));
+            objectMapper.writeValueAsBytes(AuthenticationResponse.failure(WARM_UP_SUBJECT, WARM_UP_SUBJECT, WARM_UP_SUBJECT));
+        } catch (JsonProcessingException e) {
+            log.warn("JSON warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Opens connections to the upstream URLs of all prepared vendors in parallel, so
+     * unreachable hosts cost at most one connect timeout in total.
+     */
+    private int preconnect(List<AuthenticatorProfile> readyVendors) {
+        List<CompletableFuture<Boolean>> connects = readyVendors.stream()
+                .map(AuthenticatorProfile::getUpstreamUrl)
+                .flatMap(Optional::stream)
+                .filter(StringUtils::hasText)
+                .distinct()
+                .map(url -> CompletableFuture
+                        .supplyAsync(() -> vendorHttpClient.preconnect(url, connectTimeout), vendorCallExecutor.executor())
+                        .exceptionally(error -> false))
+                .toList();
+        return (int) connects.stream().filter(CompletableFuture::join).count();
+    }
+}
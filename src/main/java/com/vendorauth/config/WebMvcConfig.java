@@ -0,0 +1,36 @@
+package com.vendorauth.config;
+
+import com.vendorauth.timing.ServerTimingInterceptor;
+import com.vendorauth.timing.ServerTimingJacksonConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC configuration: registers the Server-Timing interceptor for the API endpoints,
+ * and swaps the JSON converter for one that times the {@code serialize} stage.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ServerTimingInterceptor serverTimingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(serverTimingInterceptor).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> converter instanceof MappingJackson2HttpMessageConverter jackson
+                && !(converter instanceof ServerTimingJacksonConverter)
+                ? new ServerTimingJacksonConverter(jackson.getObjectMapper())
+                : converter);
+    }
+}
@@ -3,7 +3,12 @@ package com.vendorauth.controller;
 import com.vendorauth.dto.JwtAuthenticationRequest;
 import com.vendorauth.dto.JwtAuthenticationResponse;
 import com.vendorauth.dto.TokenRefreshRequest;
+import com.vendorauth.security.JwtAuthenticationFilter;
 import com.vendorauth.security.JwtTokenProvider;
+import com.vendorauth.security.RevokedTokens;
+import com.vendorauth.security.VerifiedToken;
+import com.vendorauth.timing.ServerTiming;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,12 +16,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
 import java.util.Collections;
+import java.util.Date;
 
 /**
  * Controller for JWT authentication endpoints
@@ -27,11 +35,14 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final RevokedTokens revokedTokens;
 
     @Autowired
-    public AuthController(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider) {
+    public AuthController(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider,
+                          RevokedTokens revokedTokens) {
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
+        this.revokedTokens = revokedTokens;
     }
 
     /**
@@ -39,23 +50,30 @@ public class AuthController {
      */
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody JwtAuthenticationRequest loginRequest) {
+        ServerTiming timing = ServerTiming.current();
+        
         // Authenticate the user
+        long authnStart = System.nanoTime();
         Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(
                 loginRequest.getUsername(),
                 loginRequest.getPassword()
             )
         );
+        timing.record(ServerTiming.Stage.AUTHN, authnStart);
 
         // Set the authentication in the security context
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         // Generate JWT token
-        String jwt = tokenProvider.generateToken(authentication);
+        long signStart = System.nanoTime();
+        Date expiration = tokenProvider.newAccessTokenExpiration();
+        String jwt = tokenProvider.generateToken(authentication, expiration);
         String refreshToken = tokenProvider.generateRefreshToken(authentication);
+        timing.record(ServerTiming.Stage.SIGN, signStart);
         
         // Get token expiration time in seconds
-        long expiresIn = tokenProvider.getExpirationDateFromToken(jwt).getTime() / 1000;
+        long expiresIn = expiration.getTime() / 1000;
 
         return ResponseEntity.ok(new JwtAuthenticationResponse(
             jwt,
@@ -65,28 +83,43 @@ public class AuthController {
     }
 
     /**
-     * Refresh JWT token using refresh token
+     * Refresh JWT token using refresh token. The refresh token is rotated: the one presented
+     * is revoked once the new tokens are issued.
      */
     @PostMapping("/refresh")
     public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
         String refreshToken = request.getRefreshToken();
+        ServerTiming timing = ServerTiming.current();
         
         // Validate the refresh token
-        if (!tokenProvider.validateToken(refreshToken)) {
+        long verifyStart = System.nanoTime();
+        VerifiedToken verifiedToken;
+        try {
+            verifiedToken = tokenProvider.verify(refreshToken);
+            if (revokedTokens.isRevoked(refreshToken)) {
+                return ResponseEntity.badRequest().body("Invalid refresh token");
+            }
+        } catch (JwtException | IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Invalid refresh token");
+        } finally {
+            timing.record(ServerTiming.Stage.VERIFY, verifyStart);
         }
         
         // Get username from refresh token
-        String username = tokenProvider.getUsernameFromToken(refreshToken);
+        String username = verifiedToken.getSubject();
         
         // Generate new access token
-        String newToken = tokenProvider.generateAccessToken(username, null);
+        long signStart = System.nanoTime();
+        Date expiration = tokenProvider.newAccessTokenExpiration();
+        String newToken = tokenProvider.generateToken(username, null, expiration);
         
-        // Generate new refresh token (optional: you might want to rotate refresh tokens)
+        // Generate new refresh token and retire the one just used
         String newRefreshToken = tokenProvider.generateRefreshToken(username);
-        
+        timing.record(ServerTiming.Stage.SIGN, signStart);
+        revokedTokens.revoke(refreshToken, verifiedToken.getExpiration());
+
         // Get token expiration time in seconds
-        long expiresIn = tokenProvider.getExpirationDateFromToken(newToken).getTime() / 1000;
+        long expiresIn = expiration.getTime() / 1000;
         
         return ResponseEntity.ok(new JwtAuthenticationResponse(
             newToken,
@@ -100,8 +133,39 @@ public class AuthController {
      */
     @PostMapping("/validate")
     public ResponseEntity<?> validateToken(@RequestBody String token) {
-        boolean isValid = tokenProvider.validateToken(token);
+        long verifyStart = System.nanoTime();
+        boolean isValid = tokenProvider.validateToken(token) && !revokedTokens.isRevoked(token);
+        ServerTiming.current().record(ServerTiming.Stage.VERIFY, verifyStart);
         // Return plain boolean string to satisfy tests
         return ResponseEntity.ok(Boolean.toString(isValid));
     }
+
+    /**
+     * Log out: revoke the bearer access token and, if given, the refresh token, so that
+     * neither is accepted again, and clear the security context
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = JwtAuthenticationFilter.HEADER_STRING, required = false)
+                                       String authorization,
+                                       @RequestBody(required = false) TokenRefreshRequest request) {
+        if (StringUtils.hasText(authorization) && authorization.startsWith(JwtAuthenticationFilter.TOKEN_PREFIX)) {
+            revoke(authorization.substring(JwtAuthenticationFilter.TOKEN_PREFIX.length()));
+        }
+        if (request != null && StringUtils.hasText(request.getRefreshToken())) {
+            revoke(request.getRefreshToken());
+        }
+        SecurityContextHolder.clearContext();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Revoke the token until its expiry; a token that no longer verifies is already unusable
+     */
+    private void revoke(String token) {
+        try {
+            revokedTokens.revoke(token, tokenProvider.verify(token).getExpiration());
+        } catch (JwtException | IllegalArgumentException e) {
+            // Expired or invalid: nothing to revoke
+        }
+    }
 }
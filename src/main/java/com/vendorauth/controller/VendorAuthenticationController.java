@@ -2,13 +2,18 @@ package com.vendorauth.controller;
 
 import com.vendorauth.dto.AuthenticationRequest;
 import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.dto.BatchAuthenticationRequest;
+import com.vendorauth.dto.BatchAuthenticationResponse;
 import com.vendorauth.service.VendorAuthenticationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for vendor authentication operations.
@@ -22,27 +27,68 @@ public class VendorAuthenticationController {
     
     private final VendorAuthenticationService vendorAuthenticationService;
     
+    @Value("${app.batch.max-item-timeout:PT10S}")
+    private Duration maxBatchItemTimeout;
+    
     /**
      * Authenticates against a specific vendor.
      * 
+     * Processed asynchronously: the servlet thread is released while the vendor
+     * call is in flight and the response is written when it completes.
+     * 
      * @param vendorId The unique identifier of the vendor
      * @param request The authentication request containing credentials
      * @return AuthenticationResponse with the result of the authentication attempt
      */
     @PostMapping("/vendor/{vendorId}")
-    public ResponseEntity<AuthenticationResponse> authenticateVendor(
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> authenticateVendor(
             @PathVariable String vendorId,
             @Valid @RequestBody AuthenticationRequest request) {
         
         log.info("Received authentication request for vendor: {}", vendorId);
         
-        AuthenticationResponse response = vendorAuthenticationService.authenticate(vendorId, request);
+        return vendorAuthenticationService.authenticateAsync(vendorId, request)
+                .thenApply(this::toResponseEntity);
+    }
+    
+    /**
+     * Authenticates against several vendors in one call.
+     * 
+     * Items are fanned out in parallel on the vendor call executor, each with its own
+     * deadline; the response always has status 200 and carries one result per item.
+     * 
+     * @param request The vendors and credentials to authenticate with
+     * @return Per-item results in request order
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<BatchAuthenticationResponse>> authenticateBatch(
+            @Valid @RequestBody BatchAuthenticationRequest request) {
+        
+        log.info("Received batch authentication request for {} vendors", request.getItems().size());
+        
+        Duration itemDeadline = maxBatchItemTimeout;
+        if (request.getItemTimeoutMs() != null && request.getItemTimeoutMs() < maxBatchItemTimeout.toMillis()) {
+            itemDeadline = Duration.ofMillis(request.getItemTimeoutMs());
+        }
         
+        return vendorAuthenticationService.authenticateBatch(request.getItems(), itemDeadline)
+                .thenApply(results -> ResponseEntity.ok(BatchAuthenticationResponse.of(results)));
+    }
+    
+    /**
+     * Maps the authentication result to an HTTP status
+     */
+    private ResponseEntity<AuthenticationResponse> toResponseEntity(AuthenticationResponse response) {
         // Return appropriate HTTP status based on authentication result
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
         } else {
-            // Return 401 for authentication failures, 400 for configuration issues
+            // Return 401 for authentication failures, 400 for configuration issues,
+            // 503 while the vendor's circuit breaker is open or vendor calls are saturated
+            if ("VENDOR_UNAVAILABLE".equals(response.getErrorCode()) ||
+                "SERVICE_BUSY".equals(response.getErrorCode())) {
+                return ResponseEntity.status(503).body(response);
+            }
             if ("VENDOR_NOT_FOUND".equals(response.getErrorCode()) || 
                 "VENDOR_INACTIVE".equals(response.getErrorCode()) ||
                 "UNSUPPORTED_AUTH_TYPE".equals(response.getErrorCode()) ||
@@ -0,0 +1,62 @@
+package com.vendorauth.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request to authenticate against several vendors in one call.
+ * Items are processed in parallel; results are returned in the same order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchAuthenticationRequest {
+    
+    /**
+     * Vendors to authenticate against, each with its own credentials
+     */
+    @NotEmpty
+    @Size(max = 50)
+    @Valid
+    private List<Item> items;
+    
+    /**
+     * Optional per-item deadline in milliseconds; capped by the server's configured maximum
+     */
+    @Positive
+    private Long itemTimeoutMs;
+    
+    /**
+     * A single vendor authentication within a batch
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        
+        /**
+         * The unique identifier of the vendor
+         */
+        @NotBlank
+        private String vendorId;
+        
+        /**
+         * Credentials for this vendor
+         */
+        @NotNull
+        @Valid
+        private AuthenticationRequest request;
+    }
+}
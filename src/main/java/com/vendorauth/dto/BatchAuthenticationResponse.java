@@ -0,0 +1,41 @@
+package com.vendorauth.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Per-item results of a batch authentication, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchAuthenticationResponse {
+    
+    /**
+     * One result per requested item, in the same order as the request
+     */
+    private List<AuthenticationResponse> results;
+    
+    /**
+     * Number of successful authentications
+     */
+    private int successCount;
+    
+    /**
+     * Number of failed authentications, including timeouts
+     */
+    private int failureCount;
+    
+    /**
+     * Builds the response and its counts from the ordered results
+     */
+    public static BatchAuthenticationResponse of(List<AuthenticationResponse> results) {
+        int successCount = (int) results.stream().filter(AuthenticationResponse::isSuccess).count();
+        return new BatchAuthenticationResponse(results, successCount, results.size() - successCount);
+    }
+}
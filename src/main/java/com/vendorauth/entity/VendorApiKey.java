@@ -0,0 +1,63 @@
+package com.vendorauth.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotBlank;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Entity representing an API key issued to a vendor.
+ * Only an HMAC-SHA256 digest of the key is stored, never the key itself.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VendorApiKey {
+
+    private Long id;
+
+    /**
+     * Vendor the key belongs to
+     */
+    @NotBlank(message = "Vendor ID cannot be blank")
+    private String vendorId;
+
+    /**
+     * Lowercase hex HMAC-SHA256 of the key under the service's API key secret
+     */
+    @NotBlank(message = "Key digest cannot be blank")
+    private String keyDigest;
+
+    /**
+     * Whether the key is accepted; revoked keys stay in the table with active = false
+     */
+    @Builder.Default
+    private boolean active = true;
+
+    /**
+     * When the key stops being accepted, in UTC; null for keys that do not expire
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * Additional notes, e.g. who the key was issued to
+     */
+    private String description;
+
+    /**
+     * When this key was created, in UTC
+     */
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now(ZoneOffset.UTC);
+
+    /**
+     * When this key was last updated (created or revoked), in UTC
+     */
+    @Builder.Default
+    private LocalDateTime updatedAt = LocalDateTime.now(ZoneOffset.UTC);
+}
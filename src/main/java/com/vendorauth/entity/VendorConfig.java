@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.AccessLevel;
+import lombok.Getter;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -18,7 +20,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class VendorConfig {
     
     private Long id;
@@ -53,9 +55,12 @@ public class VendorConfig {
     private String authDetailsJson;
     
     /**
-     * Whether this vendor configuration is currently active
+     * Whether this vendor configuration is currently active.
+     * Read through {@link #isActive()} only: a second, Boolean-typed getter makes the
+     * property ambiguous to MyBatis and fails every statement that binds it.
      */
     @Builder.Default
+    @Getter(AccessLevel.NONE)
     private Boolean active = true;
     
     /**
@@ -0,0 +1,22 @@
+package com.vendorauth.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when password hashing is refused because the hashing pool is saturated.
+ * Mapped to 503 Service Unavailable with a Retry-After header, so that clients back off
+ * instead of piling more CPU-heavy work onto the server.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
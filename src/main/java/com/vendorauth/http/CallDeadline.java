@@ -0,0 +1,64 @@
+package com.vendorauth.http;
+
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.function.Supplier;
+
+/**
+ * Deadline of the vendor call running on the current thread.
+ *
+ * {@link VendorRetryPolicy} binds the deadline of the vendor's total time budget around
+ * each attempt, and {@link VendorHttpClient} clamps the connect, pool and response
+ * timeouts of requests made during the attempt to the time left, so that a retry cannot
+ * run past the budget on the vendor's full per-request timeout. Requests made outside a
+ * retry policy keep their configured timeouts.
+ */
+final class CallDeadline {
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private CallDeadline() {
+    }
+
+    /**
+     * Run the call with the deadline ({@link System#nanoTime()}) bound to this thread
+     */
+    static <T> T run(long deadlineNanos, Supplier<T> call) {
+        Long previous = CURRENT.get();
+        CURRENT.set(deadlineNanos);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * The request configuration with its timeouts cut to the time left before the current
+     * deadline; the configuration itself if no deadline is bound
+     */
+    @SuppressWarnings("deprecation") // per-request connect timeout is still honored by the classic client
+    static RequestConfig clamp(RequestConfig config) {
+        Long deadline = CURRENT.get();
+        if (deadline == null) {
+            return config;
+        }
+        long remainingMillis = Math.max(1, (deadline - System.nanoTime()) / 1_000_000);
+        return RequestConfig.copy(config)
+                .setConnectTimeout(min(config.getConnectTimeout(), remainingMillis))
+                .setConnectionRequestTimeout(min(config.getConnectionRequestTimeout(), remainingMillis))
+                .setResponseTimeout(min(config.getResponseTimeout(), remainingMillis))
+                .build();
+    }
+
+    private static Timeout min(Timeout timeout, long remainingMillis) {
+        return timeout != null && !timeout.isDisabled() && timeout.toMilliseconds() <= remainingMillis
+                ? timeout
+                : Timeout.ofMilliseconds(remainingMillis);
+    }
+}
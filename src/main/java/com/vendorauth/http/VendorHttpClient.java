@@ -0,0 +1,142 @@
+package com.vendorauth.http;
+
+import com.vendorauth.entity.VendorConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultSchemePortResolver;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.routing.RoutingSupport;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared HTTP client for outbound calls to vendor endpoints.
+ * 
+ * All vendors share one pool of keep-alive connections, limited in total and per
+ * host. Timeouts are per vendor: connect, pool acquisition and response timeouts
+ * are derived from {@link VendorConfig#getTimeoutSeconds()}, and cut to the time left
+ * in the vendor's budget when a {@link VendorRetryPolicy} retries. Pool utilization is
+ * published as the {@code httpcomponents.httpclient.pool.*} metrics, tagged
+ * {@code httpclient=vendor}.
+ */
+@Component
+@Slf4j
+public class VendorHttpClient {
+
+    private static final int DEFAULT_TIMEOUT_SECONDS = 30;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final Duration acquireTimeout;
+    private final Duration idleTimeout;
+
+    // One RestTemplate per distinct timeout; all of them share the connection pool
+    private final ConcurrentMap<Integer, RestTemplate> restTemplatesByTimeout = new ConcurrentHashMap<>();
+
+    public VendorHttpClient(MeterRegistry meterRegistry,
+                            @Value("${app.http.pool.max-total:200}") int maxTotal,
+                            @Value("${app.http.pool.max-per-host:20}") int maxPerHost,
+                            @Value("${app.http.pool.acquire-timeout:PT5S}") Duration acquireTimeout,
+                            @Value("${app.http.pool.idle-timeout:PT30S}") Duration idleTimeout) {
+        this.acquireTimeout = acquireTimeout;
+        this.idleTimeout = idleTimeout;
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerHost)
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .disableAutomaticRetries() // retries are decided per vendor, not by the transport
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "vendor").bindTo(meterRegistry);
+    }
+
+    /**
+     * RestTemplate for calls to the given vendor, honoring its configured timeout
+     */
+    public RestTemplate restTemplate(VendorConfig config) {
+        Integer timeoutSeconds = config != null ? config.getTimeoutSeconds() : null;
+        int timeout = timeoutSeconds != null && timeoutSeconds > 0 ? timeoutSeconds : DEFAULT_TIMEOUT_SECONDS;
+        return restTemplatesByTimeout.computeIfAbsent(timeout, this::createRestTemplate);
+    }
+
+    @SuppressWarnings("deprecation") // per-request connect timeout is still honored by the classic client
+    private RestTemplate createRestTemplate(int timeoutSeconds) {
+        Timeout timeout = Timeout.ofSeconds(timeoutSeconds);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(timeout)
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(
+                        Math.min(acquireTimeout.toMillis(), timeout.toMilliseconds())))
+                .setResponseTimeout(timeout)
+                .build();
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(CallDeadline.clamp(requestConfig));
+            return context;
+        });
+        return new RestTemplate(requestFactory);
+    }
+
+    /**
+     * Opens one connection (including the TLS handshake for https) to the host of the given
+     * URL and leaves it idle in the pool, so the first vendor call can reuse it.
+     * 
+     * @return whether a connection is now pooled for the host
+     */
+    public boolean preconnect(String url, Duration connectTimeout) {
+        ConnectionEndpoint endpoint = null;
+        try {
+            HttpHost host = RoutingSupport.normalize(HttpHost.create(URI.create(url)), DefaultSchemePortResolver.INSTANCE);
+            // Same route the client plans for direct requests, so the connection is reused
+            HttpRoute route = new HttpRoute(host, null, URIScheme.HTTPS.same(host.getSchemeName()));
+            LeaseRequest lease = connectionManager.lease("preconnect", route, Timeout.of(acquireTimeout), null);
+            endpoint = lease.get(Timeout.of(acquireTimeout));
+            if (!endpoint.isConnected()) {
+                connectionManager.connect(endpoint, Timeout.of(connectTimeout), HttpClientContext.create());
+            }
+            connectionManager.release(endpoint, null, TimeValue.of(idleTimeout));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.debug("Could not pre-open a connection to {}: {}", url, e.toString());
+        }
+        if (endpoint != null) {
+            endpoint.close(CloseMode.IMMEDIATE);
+            connectionManager.release(endpoint, null, TimeValue.ZERO_MILLISECONDS);
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void close() {
+        httpClient.close(CloseMode.GRACEFUL);
+        log.debug("Vendor HTTP client closed");
+    }
+}
@@ -0,0 +1,170 @@
+package com.vendorauth.http;
+
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.timing.ServerTiming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.NoHttpResponseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Retry policy for outbound vendor calls.
+ *
+ * A call is attempted up to {@code 1 + VendorConfig.maxRetries} times with full-jitter
+ * exponential backoff between attempts, all within the vendor's {@code timeoutSeconds}
+ * budget measured from the first attempt: each attempt's connect, pool and response
+ * timeouts are cut to the time left (see {@link CallDeadline}), and no retry is started
+ * unless at least {@code min-attempt-time} would be left after its backoff.
+ *
+ * Only failures that are safe to repeat are retried:
+ * <ul>
+ *   <li>the connection could not be established (any request);</li>
+ *   <li>429 or 503 responses, where the vendor did not process the request (any request);</li>
+ *   <li>502/504 responses, read timeouts and connection resets (idempotent requests only).</li>
+ * </ul>
+ * Attempts are counted per vendor in {@code vendor.http.attempts}, tagged with the outcome,
+ * and each attempt's duration is recorded in the {@code vendor.http.requests} timer.
+ */
+@Component
+@Slf4j
+public class VendorRetryPolicy {
+
+    private static final int DEFAULT_TIMEOUT_SECONDS = 30;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final long minAttemptNanos;
+
+    public VendorRetryPolicy(MeterRegistry meterRegistry,
+                             @Value("${app.http.retry.initial-backoff:PT0.1S}") Duration initialBackoff,
+                             @Value("${app.http.retry.max-backoff:PT2S}") Duration maxBackoff,
+                             @Value("${app.http.retry.min-attempt-time:PT0.2S}") Duration minAttemptTime) {
+        this.meterRegistry = meterRegistry;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.minAttemptNanos = minAttemptTime.toNanos();
+    }
+
+    /**
+     * Run the call, retrying safe failures according to the vendor's configuration.
+     *
+     * @param config     vendor whose maxRetries and timeoutSeconds apply
+     * @param idempotent whether repeating the request after it may have reached the vendor is safe
+     * @param call       the outbound request
+     * @return the result of the first successful attempt
+     */
+    public <T> T execute(VendorConfig config, boolean idempotent, Supplier<T> call) {
+        String vendorId = config.getVendorId();
+        int maxAttempts = 1 + Math.max(0, config.getMaxRetries() != null ? config.getMaxRetries() : 0);
+        long deadline = System.nanoTime() + budget(config).toNanos();
+        ServerTiming timing = ServerTiming.current();
+
+        for (int attempt = 1; ; attempt++) {
+            long attemptStart = System.nanoTime();
+            try {
+                T result = CallDeadline.run(deadline, call);
+                timing.record(ServerTiming.Stage.UPSTREAM, attemptStart);
+                requests(vendorId, "success").record(System.nanoTime() - attemptStart, TimeUnit.NANOSECONDS);
+                attempts(vendorId, "success").increment();
+                return result;
+            } catch (RuntimeException e) {
+                timing.record(ServerTiming.Stage.UPSTREAM, attemptStart);
+                requests(vendorId, "failure").record(System.nanoTime() - attemptStart, TimeUnit.NANOSECONDS);
+                if (attempt >= maxAttempts || !isRetryable(e, idempotent)) {
+                    attempts(vendorId, "failure").increment();
+                    throw e;
+                }
+                long backoffNanos = backoffNanos(attempt);
+                if (System.nanoTime() + backoffNanos + minAttemptNanos >= deadline) {
+                    attempts(vendorId, "failure").increment();
+                    log.debug("Retry budget for vendor {} exhausted after {} attempts", vendorId, attempt);
+                    throw e;
+                }
+                attempts(vendorId, "retry").increment();
+                log.debug("Attempt {}/{} to vendor {} failed ({}); retrying in {} ms",
+                        attempt, maxAttempts, vendorId, e.getMessage(), backoffNanos / 1_000_000);
+                sleep(backoffNanos, e);
+            }
+        }
+    }
+
+    static boolean isRetryable(RuntimeException e, boolean idempotent) {
+        if (e instanceof HttpStatusCodeException statusException) {
+            int status = statusException.getStatusCode().value();
+            if (status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                return true;
+            }
+            return idempotent && (status == HttpStatus.BAD_GATEWAY.value()
+                    || status == HttpStatus.GATEWAY_TIMEOUT.value());
+        }
+        if (e instanceof ResourceAccessException) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException) {
+                return true;
+            }
+            return idempotent && (cause instanceof SocketTimeoutException || cause instanceof SocketException
+                    || cause instanceof NoHttpResponseException);
+        }
+        return false;
+    }
+
+    /**
+     * Full jitter: uniformly random in [0, min(maxBackoff, initialBackoff * 2^(attempt-1))]
+     */
+    private long backoffNanos(int attempt) {
+        long ceiling = initialBackoff.toNanos() << Math.min(attempt - 1, 30);
+        if (ceiling <= 0 || ceiling > maxBackoff.toNanos()) {
+            ceiling = maxBackoff.toNanos();
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static Duration budget(VendorConfig config) {
+        Integer timeoutSeconds = config.getTimeoutSeconds();
+        return Duration.ofSeconds(timeoutSeconds != null && timeoutSeconds > 0 ? timeoutSeconds : DEFAULT_TIMEOUT_SECONDS);
+    }
+
+    private static void sleep(long nanos, RuntimeException lastFailure) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw lastFailure;
+        }
+    }
+
+    private Timer requests(String vendorId, String outcome) {
+        return Timer.builder("vendor.http.requests")
+                .description("Duration of outbound vendor call attempts")
+                .tag("vendorId", vendorId)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
+    private Counter attempts(String vendorId, String outcome) {
+        return Counter.builder("vendor.http.attempts")
+                .description("Outbound vendor call attempts")
+                .tag("vendorId", vendorId)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,52 @@
+package com.vendorauth.mapper;
+
+import com.vendorauth.entity.VendorApiKey;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MyBatis mapper interface for VendorApiKey entity operations.
+ */
+@Mapper
+public interface VendorApiKeyMapper {
+
+    /**
+     * Find all active API keys
+     */
+    @Select("SELECT * FROM vendor_api_keys WHERE active = 1")
+    List<VendorApiKey> findActive();
+
+    /**
+     * Find an API key by id
+     */
+    @Select("SELECT * FROM vendor_api_keys WHERE id = #{id}")
+    VendorApiKey findById(@Param("id") Long id);
+
+    /**
+     * Latest update time of any API key, by the database's clock; null if there are none
+     */
+    @Select("SELECT MAX(updated_at) FROM vendor_api_keys")
+    LocalDateTime findLatestUpdate();
+
+    /**
+     * Find API keys (active or revoked) created or updated at or after the given time
+     */
+    @Select("SELECT * FROM vendor_api_keys WHERE updated_at >= #{since}")
+    List<VendorApiKey> findUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Insert a new API key
+     */
+    @Insert("INSERT INTO vendor_api_keys (vendor_id, key_digest, active, expires_at, description, created_at, updated_at) " +
+            "VALUES (#{vendorId}, #{keyDigest}, #{active}, #{expiresAt}, #{description}, #{createdAt}, #{updatedAt})")
+    @Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
+    int insert(VendorApiKey apiKey);
+
+    /**
+     * Revoke an API key
+     */
+    @Update("UPDATE vendor_api_keys SET active = 0, updated_at = #{updatedAt} WHERE id = #{id}")
+    int revoke(@Param("id") Long id, @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -26,6 +26,15 @@ public interface VendorConfigMapper {
     @Select("SELECT * FROM vendor_configs WHERE vendor_id = #{vendorId}")
     Optional<VendorConfig> findByVendorId(String vendorId);
     
+    /**
+     * Find the vendor configurations for a set of vendor IDs in one query
+     */
+    @Select({"<script>",
+            "SELECT * FROM vendor_configs WHERE vendor_id IN",
+            "<foreach item='vendorId' collection='vendorIds' open='(' separator=',' close=')'>#{vendorId}</foreach>",
+            "</script>"})
+    List<VendorConfig> findByVendorIds(@Param("vendorIds") List<String> vendorIds);
+    
     /**
      * Find all vendor configurations
      */
@@ -0,0 +1,254 @@
+package com.vendorauth.repository;
+
+import com.vendorauth.entity.VendorApiKey;
+import com.vendorauth.mapper.VendorApiKeyMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Repository for vendor API keys, validated locally without a call to the vendor.
+ * 
+ * Keys are stored as HMAC-SHA256 digests under {@code app.api-keys.hmac-secret}: a leaked
+ * table does not reveal the keys, and without the secret its digests cannot be brute-forced
+ * offline. Active keys are held in an in-memory index keyed by digest, so validating a key
+ * is one HMAC and one hash lookup, followed by a constant-time compare of the digests, the
+ * vendor and the key's expiry.
+ * 
+ * The index is loaded at startup and kept current incrementally: every
+ * {@code refresh-interval} the rows updated since the last refresh (new and revoked keys)
+ * are applied to it. Rows deleted from the table are only noticed by a full reload, every
+ * {@code full-reload-interval}; revoke keys instead of deleting them. Keys created or
+ * revoked through this repository take effect on this instance immediately.
+ * 
+ * All times, expiry included, are UTC like the table's {@code SYSUTCDATETIME()} defaults,
+ * and the refresh watermark is the latest {@code updated_at} read from the table rather
+ * than this server's clock, so rows written by other writers are not skipped when the
+ * clocks or zones differ.
+ */
+@Repository
+@Slf4j
+public class VendorApiKeyRepository {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final HexFormat HEX = HexFormat.of();
+    /** Rows updated this close to the last refresh are read again, in case their transaction committed late */
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(5);
+    /** Watermark of an empty table: the first refresh reads every row */
+    private static final LocalDateTime NO_UPDATES = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final VendorApiKeyMapper mapper;
+    private final SecretKeySpec hmacKey;
+    private final Duration fullReloadInterval;
+    private final ThreadLocal<Mac> macs;
+
+    private final AtomicReference<Map<String, KeyEntry>> index = new AtomicReference<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile LocalDateTime watermark;
+    private volatile long lastFullReloadNanos;
+
+    public VendorApiKeyRepository(VendorApiKeyMapper mapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.api-keys.hmac-secret}") String hmacSecret,
+                                  @Value("${app.api-keys.full-reload-interval:PT10M}") Duration fullReloadInterval) {
+        byte[] secret = hmacSecret.getBytes(StandardCharsets.UTF_8);
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("app.api-keys.hmac-secret must be at least 32 bytes");
+        }
+        this.mapper = mapper;
+        this.hmacKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.fullReloadInterval = fullReloadInterval;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        Gauge.builder("vendor.api_keys.indexed", index, keys -> keys.get() != null ? keys.get().size() : 0)
+                .description("Active API keys in the in-memory index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether {@code apiKey} is an active, unexpired key of the vendor
+     */
+    public boolean isValid(String vendorId, String apiKey) {
+        if (vendorId == null || apiKey == null) {
+            return false;
+        }
+        byte[] digest = digest(apiKey);
+        KeyEntry entry = index().get(HEX.formatHex(digest));
+        return entry != null
+                && MessageDigest.isEqual(entry.digest(), digest)
+                && entry.vendorId().equals(vendorId)
+                && entry.isUnexpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Store a new key for the vendor. Only its digest is saved.
+     * 
+     * @param expiresAt when the key stops being accepted, in UTC, or null for no expiry
+     */
+    public VendorApiKey create(String vendorId, String apiKey, LocalDateTime expiresAt, String description) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        VendorApiKey key = VendorApiKey.builder()
+                .vendorId(vendorId)
+                .keyDigest(HEX.formatHex(digest(apiKey)))
+                .active(true)
+                .expiresAt(expiresAt)
+                .description(description)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        mapper.insert(key);
+        apply(index(), key);
+        return key;
+    }
+
+    /**
+     * Stop accepting a key
+     */
+    public void revoke(Long id) {
+        VendorApiKey key = mapper.findById(id);
+        mapper.revoke(id, LocalDateTime.now(ZoneOffset.UTC));
+        if (key != null && key.getKeyDigest() != null) {
+            index().remove(key.getKeyDigest().toLowerCase());
+        }
+    }
+
+    /**
+     * Number of active keys in the index, expired ones included
+     */
+    public int size() {
+        return index().size();
+    }
+
+    /**
+     * Apply keys updated since the last refresh to the index, or reload it entirely when
+     * a full reload is due.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Scheduled(fixedDelayString = "${app.api-keys.refresh-interval-ms:5000}",
+               initialDelayString = "${app.api-keys.refresh-interval-ms:5000}")
+    public void refresh() {
+        reloadLock.lock();
+        try {
+            Map<String, KeyEntry> current = index.get();
+            if (current == null || System.nanoTime() - lastFullReloadNanos >= fullReloadInterval.toNanos()) {
+                reload();
+                return;
+            }
+            LocalDateTime since = watermark.minus(REFRESH_OVERLAP);
+            List<VendorApiKey> changed = mapper.findUpdatedSince(since);
+            changed.forEach(key -> apply(current, key));
+            advanceWatermark(changed);
+            if (!changed.isEmpty()) {
+                log.debug("Applied {} API key changes since {}", changed.size(), since);
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Map<String, KeyEntry> index() {
+        Map<String, KeyEntry> current = index.get();
+        if (current != null) {
+            return current;
+        }
+        reloadLock.lock();
+        try {
+            if (index.get() == null) {
+                reload();
+            }
+            return index.get();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuild the index from all active keys; called with the reload lock held
+     */
+    private void reload() {
+        // Read before the keys, so that rows updated during the load are read again by the next refresh
+        LocalDateTime latest = mapper.findLatestUpdate();
+        List<VendorApiKey> active = mapper.findActive();
+        Map<String, KeyEntry> loaded = new ConcurrentHashMap<>(Math.max(16, active.size() * 2));
+        active.forEach(key -> apply(loaded, key));
+        watermark = latest != null ? latest : NO_UPDATES;
+        advanceWatermark(active);
+        lastFullReloadNanos = System.nanoTime();
+        index.set(loaded);
+        log.debug("API key index loaded with {} keys", loaded.size());
+    }
+
+    private void advanceWatermark(List<VendorApiKey> keys) {
+        for (VendorApiKey key : keys) {
+            if (key.getUpdatedAt() != null && key.getUpdatedAt().isAfter(watermark)) {
+                watermark = key.getUpdatedAt();
+            }
+        }
+    }
+
+    private static void apply(Map<String, KeyEntry> target, VendorApiKey key) {
+        if (key.getKeyDigest() == null) {
+            return;
+        }
+        String digest = key.getKeyDigest().toLowerCase();
+        if (!key.isActive()) {
+            target.remove(digest);
+            return;
+        }
+        try {
+            target.put(digest, KeyEntry.of(key, digest));
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping API key {} of vendor {}: digest is not hex", key.getId(), key.getVendorId());
+        }
+    }
+
+    private byte[] digest(String apiKey) {
+        return macs.get().doFinal(apiKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " not available", e);
+        }
+    }
+
+    /**
+     * Indexed key; expiry as epoch millis, {@link Long#MAX_VALUE} for none
+     */
+    private record KeyEntry(String vendorId, byte[] digest, long expiresAtMillis) {
+
+        static KeyEntry of(VendorApiKey key, String digest) {
+            long expiresAt = key.getExpiresAt() == null
+                    ? Long.MAX_VALUE
+                    : key.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+            return new KeyEntry(key.getVendorId(), HEX.parseHex(digest), expiresAt);
+        }
+
+        boolean isUnexpired(long nowMillis) {
+            return nowMillis < expiresAtMillis;
+        }
+    }
+}
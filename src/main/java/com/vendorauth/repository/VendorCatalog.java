@@ -0,0 +1,128 @@
+package com.vendorauth.repository;
+
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.enums.AuthType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, indexed snapshot of all vendor configurations.
+ * A new instance is built from a full table read whenever the catalog changes;
+ * instances are never modified after construction, so they can be shared freely
+ * between request threads without locking.
+ */
+final class VendorCatalog {
+
+    private static final Comparator<VendorConfig> BY_ID =
+            Comparator.comparing(VendorConfig::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final List<VendorConfig> all;
+    private final List<VendorConfig> active;
+    private final Map<String, VendorConfig> byVendorId;
+    private final Map<Long, VendorConfig> byId;
+    private final Map<AuthType, List<VendorConfig>> byAuthType;
+    private final Map<AuthType, List<VendorConfig>> activeByAuthType;
+
+    private VendorCatalog(List<VendorConfig> configs) {
+        List<VendorConfig> sorted = new ArrayList<>(configs);
+        sorted.sort(BY_ID);
+
+        Map<String, VendorConfig> vendorIdIndex = new HashMap<>();
+        Map<Long, VendorConfig> idIndex = new HashMap<>();
+        Map<AuthType, List<VendorConfig>> authTypeIndex = new EnumMap<>(AuthType.class);
+        Map<AuthType, List<VendorConfig>> activeAuthTypeIndex = new EnumMap<>(AuthType.class);
+        List<VendorConfig> activeList = new ArrayList<>();
+
+        for (VendorConfig config : sorted) {
+            if (config.getVendorId() != null) {
+                vendorIdIndex.put(config.getVendorId(), config);
+            }
+            if (config.getId() != null) {
+                idIndex.put(config.getId(), config);
+            }
+            if (config.getAuthType() != null) {
+                authTypeIndex.computeIfAbsent(config.getAuthType(), t -> new ArrayList<>()).add(config);
+            }
+            if (config.isActive()) {
+                activeList.add(config);
+                if (config.getAuthType() != null) {
+                    activeAuthTypeIndex.computeIfAbsent(config.getAuthType(), t -> new ArrayList<>()).add(config);
+                }
+            }
+        }
+
+        this.all = List.copyOf(sorted);
+        this.active = List.copyOf(activeList);
+        this.byVendorId = Map.copyOf(vendorIdIndex);
+        this.byId = Map.copyOf(idIndex);
+        this.byAuthType = freeze(authTypeIndex);
+        this.activeByAuthType = freeze(activeAuthTypeIndex);
+    }
+
+    static VendorCatalog of(List<VendorConfig> configs) {
+        return new VendorCatalog(configs != null ? configs : Collections.emptyList());
+    }
+
+    Optional<VendorConfig> findByVendorId(String vendorId) {
+        return vendorId == null ? Optional.empty() : Optional.ofNullable(byVendorId.get(vendorId));
+    }
+
+    Optional<VendorConfig> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+    }
+
+    List<VendorConfig> findAll() {
+        return all;
+    }
+
+    List<VendorConfig> findActive() {
+        return active;
+    }
+
+    List<VendorConfig> findByAuthType(AuthType authType) {
+        return byAuthType.getOrDefault(authType, Collections.emptyList());
+    }
+
+    List<VendorConfig> findActiveByAuthType(AuthType authType) {
+        return activeByAuthType.getOrDefault(authType, Collections.emptyList());
+    }
+
+    List<VendorConfig> findByVendorNameContainingIgnoreCase(String name) {
+        if (name == null) {
+            return Collections.emptyList();
+        }
+        String needle = name.toLowerCase();
+        List<VendorConfig> matches = new ArrayList<>();
+        for (VendorConfig config : all) {
+            if (config.getVendorName() != null && config.getVendorName().toLowerCase().contains(needle)) {
+                matches.add(config);
+            }
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    boolean containsVendorId(String vendorId) {
+        return vendorId != null && byVendorId.containsKey(vendorId);
+    }
+
+    boolean containsId(Long id) {
+        return id != null && byId.containsKey(id);
+    }
+
+    int size() {
+        return all.size();
+    }
+
+    private static Map<AuthType, List<VendorConfig>> freeze(Map<AuthType, List<VendorConfig>> index) {
+        Map<AuthType, List<VendorConfig>> frozen = new EnumMap<>(AuthType.class);
+        index.forEach((type, configs) -> frozen.put(type, List.copyOf(configs)));
+        return Collections.unmodifiableMap(frozen);
+    }
+}
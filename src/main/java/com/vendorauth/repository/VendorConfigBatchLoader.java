@@ -0,0 +1,153 @@
+package com.vendorauth.repository;
+
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.mapper.VendorConfigMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DataLoader-style batching of vendor configuration lookups by vendor ID.
+ *
+ * The first caller to miss opens a batch and waits for a short window (sub-millisecond by
+ * default) while concurrent callers add their vendor IDs to it; the batch is then resolved
+ * with a single {@code findByVendorIds} IN query on the first caller's thread and every
+ * waiting caller gets its own result. A batch is dispatched early once it reaches the
+ * maximum size. Callers asking for the same vendor ID share one slot.
+ *
+ * Batch sizes are published as {@code vendor.config.batch.size}.
+ */
+@Component
+public class VendorConfigBatchLoader {
+
+    private final VendorConfigMapper mapper;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch pending;
+
+    public VendorConfigBatchLoader(VendorConfigMapper mapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.vendor-catalog.batch.window:PT0.0005S}") Duration window,
+                                   @Value("${app.vendor-catalog.batch.max-size:100}") int maxBatchSize) {
+        this.mapper = mapper;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchSizes = DistributionSummary.builder("vendor.config.batch.size")
+                .description("Vendor IDs resolved per vendor_configs lookup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Look up a vendor configuration, sharing the database round-trip with concurrent callers.
+     */
+    public Optional<VendorConfig> load(String vendorId) {
+        Batch batch;
+        CompletableFuture<Optional<VendorConfig>> result;
+        boolean leader = false;
+        lock.lock();
+        try {
+            if (pending == null) {
+                pending = new Batch(Thread.currentThread());
+                leader = true;
+            }
+            batch = pending;
+            result = batch.results.computeIfAbsent(vendorId, id -> new CompletableFuture<>());
+            if (batch.results.size() >= maxBatchSize) {
+                seal(batch);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (leader) {
+            awaitWindow(batch);
+            dispatch(batch);
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stop accepting vendor IDs into the batch and wake its leader. Caller holds the lock.
+     */
+    private void seal(Batch batch) {
+        if (pending == batch) {
+            pending = null;
+            LockSupport.unpark(batch.leader);
+        }
+    }
+
+    private void awaitWindow(Batch batch) {
+        long deadline = System.nanoTime() + windowNanos;
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            lock.lock();
+            try {
+                if (pending != batch) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+        lock.lock();
+        try {
+            seal(batch);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        List<String> vendorIds = new ArrayList<>(batch.results.keySet());
+        batchSizes.record(vendorIds.size());
+        try {
+            Map<String, VendorConfig> found = new LinkedHashMap<>();
+            for (VendorConfig config : mapper.findByVendorIds(vendorIds)) {
+                found.put(config.getVendorId(), config);
+            }
+            batch.results.forEach((vendorId, future) -> future.complete(Optional.ofNullable(found.get(vendorId))));
+        } catch (Throwable t) {
+            // Errors too: callers waiting on the batch would otherwise block forever
+            batch.results.values().forEach(future -> future.completeExceptionally(t));
+            throw t;
+        }
+    }
+
+    /**
+     * Vendor IDs collected during one window; only modified while holding the loader lock
+     * and read by the leader once sealed.
+     */
+    private static final class Batch {
+        private final Thread leader;
+        private final Map<String, CompletableFuture<Optional<VendorConfig>>> results = new LinkedHashMap<>();
+
+        private Batch(Thread leader) {
+            this.leader = leader;
+        }
+    }
+}
@@ -1,87 +1,157 @@
 package com.vendorauth.repository;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.vendorauth.entity.VendorConfig;
 import com.vendorauth.enums.AuthType;
 import com.vendorauth.mapper.VendorConfigMapper;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Repository for VendorConfig entity operations using MyBatis.
  * Provides methods to query vendor configurations by various criteria.
  * This class wraps the MyBatis mapper to provide a repository-style interface.
+ * 
+ * All read methods are served from an in-memory {@link VendorCatalog} snapshot, so the
+ * authentication hot path does no JDBC. The snapshot is loaded at startup, rebuilt from
+ * the table on the first read after a local write, and periodically refreshed to pick up
+ * changes made by other instances. Returned configurations are shared between callers and
+ * must be treated as read-only; changes go through {@link #save(VendorConfig)}.
+ * 
+ * A vendor ID missing from the snapshot may have been added by another instance since the
+ * last refresh, so {@link #findByVendorId(String)} looks it up through the
+ * {@link VendorConfigBatchLoader}, which coalesces concurrent misses into one query. Those
+ * lookups (found or not) are remembered until the next refresh; each is tagged with the
+ * snapshot generation it was made under, so a lookup that completes after a refresh is
+ * not served in place of the new snapshot. At most {@code max-miss-lookups} distinct
+ * vendor IDs are looked up per snapshot: beyond that, unknown IDs are reported as not
+ * found without a query until the next refresh, so callers sending arbitrary vendor IDs
+ * cannot put JDBC back on the authentication path.
  */
 @Repository
-@RequiredArgsConstructor
+@Slf4j
 public class VendorConfigRepository {
     
     private final VendorConfigMapper mapper;
+    private final VendorConfigBatchLoader batchLoader;
+    private final Cache<String, CatalogMiss> catalogMisses;
+    private final int maxMissLookups;
+    
+    private final AtomicReference<VendorCatalog> catalog = new AtomicReference<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    // Bumped whenever the snapshot is replaced or dropped; misses of older generations are ignored
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger missLookups = new AtomicInteger();
+    
+    public VendorConfigRepository(VendorConfigMapper mapper,
+                                  VendorConfigBatchLoader batchLoader,
+                                  @Value("${app.vendor-catalog.refresh-interval-ms:30000}") long refreshIntervalMs,
+                                  @Value("${app.vendor-catalog.max-miss-lookups:1000}") int maxMissLookups) {
+        this.mapper = mapper;
+        this.batchLoader = batchLoader;
+        this.maxMissLookups = maxMissLookups;
+        this.catalogMisses = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(refreshIntervalMs))
+                .build();
+    }
     
     /**
      * Find a vendor configuration by ID
      */
     public Optional<VendorConfig> findById(Long id) {
-        return mapper.findById(id);
+        return catalog().findById(id);
     }
     
     /**
      * Find a vendor configuration by vendor ID
      */
     public Optional<VendorConfig> findByVendorId(String vendorId) {
-        return mapper.findByVendorId(vendorId);
+        Optional<VendorConfig> config = catalog().findByVendorId(vendorId);
+        if (config.isPresent() || vendorId == null) {
+            return config;
+        }
+        long snapshot = generation.get();
+        CatalogMiss miss = catalogMisses.getIfPresent(vendorId);
+        if (miss != null && miss.generation() == snapshot) {
+            return miss.config();
+        }
+        int lookups = missLookups.incrementAndGet();
+        if (lookups > maxMissLookups) {
+            if (lookups == maxMissLookups + 1) {
+                log.warn("More than {} unknown vendor IDs since the last catalog refresh; "
+                        + "not looking up further ones until the next refresh", maxMissLookups);
+            }
+            return Optional.empty();
+        }
+        Optional<VendorConfig> loaded = batchLoader.load(vendorId);
+        catalogMisses.put(vendorId, new CatalogMiss(snapshot, loaded));
+        return loaded;
     }
     
     /**
      * Find all vendor configurations
      */
     public List<VendorConfig> findAll() {
-        return mapper.findAll();
+        return catalog().findAll();
     }
     
     /**
      * Find all active vendor configurations
      */
     public List<VendorConfig> findByActiveTrue() {
-        return mapper.findByActiveTrue();
+        return catalog().findActive();
     }
     
     /**
      * Find all vendor configurations by authentication type
      */
     public List<VendorConfig> findByAuthType(AuthType authType) {
-        return mapper.findByAuthType(authType);
+        return catalog().findByAuthType(authType);
     }
     
     /**
      * Find active vendor configurations by authentication type
      */
     public List<VendorConfig> findByAuthTypeAndActiveTrue(AuthType authType) {
-        return mapper.findByAuthTypeAndActiveTrue(authType);
+        return catalog().findActiveByAuthType(authType);
     }
     
     /**
      * Check if a vendor ID already exists
      */
     public boolean existsByVendorId(String vendorId) {
-        return mapper.existsByVendorId(vendorId);
+        return catalog().containsVendorId(vendorId);
     }
     
     /**
      * Check if a vendor configuration exists by ID
      */
     public boolean existsById(Long id) {
-        return mapper.existsById(id);
+        return catalog().containsId(id);
     }
     
     /**
      * Find vendor configurations by vendor name (case-insensitive)
      */
     public List<VendorConfig> findByVendorNameContainingIgnoreCase(String name) {
-        return mapper.findByVendorNameContainingIgnoreCase(name);
+        return catalog().findByVendorNameContainingIgnoreCase(name);
     }
     
     /**
@@ -98,6 +168,7 @@ public class VendorConfigRepository {
             vendorConfig.setUpdatedAt(LocalDateTime.now());
             mapper.update(vendorConfig);
         }
+        invalidate();
         return vendorConfig;
     }
     
@@ -106,12 +177,92 @@ public class VendorConfigRepository {
      */
     public void deleteById(Long id) {
         mapper.deleteById(id);
+        invalidate();
     }
     
     /**
      * Count all vendor configurations
      */
     public long count() {
-        return mapper.count();
+        return catalog().size();
+    }
+    
+    /**
+     * Rebuild the catalog from the database and swap it in atomically.
+     * Readers keep using the previous snapshot until the new one is installed.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Scheduled(fixedDelayString = "${app.vendor-catalog.refresh-interval-ms:30000}",
+               initialDelayString = "${app.vendor-catalog.refresh-interval-ms:30000}")
+    public void refresh() {
+        reloadLock.lock();
+        try {
+            VendorCatalog loaded = VendorCatalog.of(mapper.findAll());
+            catalog.set(loaded);
+            resetMisses();
+            log.debug("Vendor catalog loaded with {} configurations", loaded.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+    
+    private VendorCatalog catalog() {
+        VendorCatalog current = catalog.get();
+        if (current != null) {
+            return current;
+        }
+        reloadLock.lock();
+        try {
+            current = catalog.get();
+            if (current == null) {
+                current = VendorCatalog.of(mapper.findAll());
+                catalog.set(current);
+            }
+            return current;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+    
+    /**
+     * Drops the current snapshot so the next read reloads it. When called inside a
+     * transaction the snapshot is dropped again on completion, since a reload in between
+     * may have observed uncommitted (or later rolled back) rows.
+     */
+    private void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+    
+    private void clear() {
+        reloadLock.lock();
+        try {
+            catalog.set(null);
+            resetMisses();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+    
+    /**
+     * Starts a new generation of catalog misses. Caller holds the reload lock.
+     */
+    private void resetMisses() {
+        generation.incrementAndGet();
+        missLookups.set(0);
+        catalogMisses.invalidateAll();
+    }
+    
+    /**
+     * Result of looking up a vendor ID missing from the snapshot of the given generation
+     */
+    private record CatalogMiss(long generation, Optional<VendorConfig> config) {
     }
 }
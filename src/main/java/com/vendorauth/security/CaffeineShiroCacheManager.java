@@ -0,0 +1,97 @@
+package com.vendorauth.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.shiro.cache.Cache;
+import org.apache.shiro.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shiro {@link CacheManager} backed by Caffeine: every named cache is bounded to
+ * {@code maximumSize} entries, each expiring {@code ttl} after it was written.
+ * Statistics of each cache are published as {@code cache.*} metrics tagged with its name.
+ */
+public class CaffeineShiroCacheManager implements CacheManager {
+
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final long maximumSize;
+    private final ConcurrentMap<String, CaffeineShiroCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    public CaffeineShiroCacheManager(MeterRegistry meterRegistry, Duration ttl, long maximumSize) {
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Cache<K, V> getCache(String name) {
+        return (Cache<K, V>) caches.computeIfAbsent(name, this::create);
+    }
+
+    private CaffeineShiroCache<Object, Object> create(String name) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return new CaffeineShiroCache<>(cache);
+    }
+
+    /**
+     * Shiro view of a Caffeine cache
+     */
+    private static final class CaffeineShiroCache<K, V> implements Cache<K, V> {
+
+        private final com.github.benmanes.caffeine.cache.Cache<K, V> cache;
+
+        private CaffeineShiroCache(com.github.benmanes.caffeine.cache.Cache<K, V> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public V get(K key) {
+            return key == null ? null : cache.getIfPresent(key);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            // Realms pass a null key for principals they do not want cached
+            return key == null || value == null ? null : cache.asMap().put(key, value);
+        }
+
+        @Override
+        public V remove(K key) {
+            return key == null ? null : cache.asMap().remove(key);
+        }
+
+        @Override
+        public void clear() {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(Integer.MAX_VALUE, cache.estimatedSize());
+        }
+
+        @Override
+        public Set<K> keys() {
+            return Set.copyOf(cache.asMap().keySet());
+        }
+
+        @Override
+        public Collection<V> values() {
+            return List.copyOf(cache.asMap().values());
+        }
+    }
+}
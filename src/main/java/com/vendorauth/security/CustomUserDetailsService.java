@@ -2,6 +2,9 @@ package com.vendorauth.security;
 
 import com.vendorauth.entity.VendorConfig;
 import com.vendorauth.repository.VendorConfigRepository;
+import com.vendorauth.timing.ServerTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,6 +13,8 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Custom UserDetailsService implementation for JWT authentication
@@ -18,10 +23,12 @@ import java.util.Collections;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final VendorConfigRepository vendorConfigRepository;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public CustomUserDetailsService(VendorConfigRepository vendorConfigRepository) {
+    public CustomUserDetailsService(VendorConfigRepository vendorConfigRepository, MeterRegistry meterRegistry) {
         this.vendorConfigRepository = vendorConfigRepository;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -31,8 +38,17 @@ public class CustomUserDetailsService implements UserDetailsService {
         // You should replace this with your actual user loading logic
         
         // Check if vendor exists and is active using available repository methods
-        VendorConfig vendorConfig = vendorConfigRepository.findByVendorId(vendorId)
-                .filter(cfg -> Boolean.TRUE.equals(cfg.getActive()))
+        long lookupStart = System.nanoTime();
+        Optional<VendorConfig> found = vendorConfigRepository.findByVendorId(vendorId);
+        ServerTiming.current().record(ServerTiming.Stage.DB, lookupStart);
+        Optional<VendorConfig> active = found.filter(VendorConfig::isActive);
+        // Load latency on user cache misses (see VendorUserCache)
+        Timer.builder("vendor.users.load")
+                .description("Time to load a vendor's user details")
+                .tag("outcome", active.isPresent() ? "found" : "not_found")
+                .register(meterRegistry)
+                .record(System.nanoTime() - lookupStart, TimeUnit.NANOSECONDS);
+        VendorConfig vendorConfig = active
                 .orElseThrow(() ->
                     new UsernameNotFoundException("Vendor not found or inactive with id: " + vendorId)
                 );
@@ -1,9 +1,7 @@
 package com.vendorauth.security;
 
 import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.SignatureException;
+import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
@@ -34,11 +32,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache tokenCache;
+    private final RevokedTokens revokedTokens;
 
     public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, 
                                  UserDetailsService userDetailsService) {
+        this(tokenProvider, userDetailsService, null);
+    }
+
+    /**
+     * @param tokenCache optional cache of verified tokens; when null every request
+     *                   is verified against the signing key
+     */
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider,
+                                 UserDetailsService userDetailsService,
+                                 VerifiedTokenCache tokenCache) {
+        this(tokenProvider, userDetailsService, tokenCache, null);
+    }
+
+    /**
+     * @param tokenCache    optional cache of verified tokens; when null every request
+     *                      is verified against the signing key
+     * @param revokedTokens optional list of revoked tokens, which are rejected
+     */
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider,
+                                 UserDetailsService userDetailsService,
+                                 VerifiedTokenCache tokenCache,
+                                 RevokedTokens revokedTokens) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
+        this.tokenCache = tokenCache;
+        this.revokedTokens = revokedTokens;
     }
 
     @Override
@@ -49,20 +73,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
             
             if (StringUtils.hasText(jwt)) {
-                if (tokenProvider.validateToken(jwt)) {
-                    // Get user identity and set it on the spring security context
-                    Authentication authentication = tokenProvider.getAuthentication(jwt);
-                    if (authentication instanceof org.springframework.security.authentication.AbstractAuthenticationToken authToken) {
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    }
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                Authentication authentication = authenticate(jwt);
+                if (authentication instanceof org.springframework.security.authentication.AbstractAuthenticationToken authToken) {
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 }
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (ExpiredJwtException ex) {
             log.warn("Expired JWT token: {}", ex.getMessage());
             setErrorResponse(response, "Expired JWT token", HttpStatus.UNAUTHORIZED);
             return;
-        } catch (UnsupportedJwtException | MalformedJwtException | SignatureException ex) {
+        } catch (JwtException ex) {
             log.warn("Invalid JWT token: {}", ex.getMessage());
             setErrorResponse(response, "Invalid JWT token", HttpStatus.UNAUTHORIZED);
             return;
@@ -79,6 +100,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Resolve the token to an Authentication, skipping signature verification
+     * when the token was recently verified; revoked tokens are rejected either way
+     */
+    private Authentication authenticate(String jwt) {
+        if (revokedTokens != null && revokedTokens.isRevoked(jwt)) {
+            throw new JwtException("Token has been revoked");
+        }
+        if (tokenCache != null) {
+            return tokenCache.getAuthentication(jwt, tokenProvider);
+        }
+        // Verify once and build the user identity from the same parse
+        return tokenProvider.getAuthentication(tokenProvider.verify(jwt));
+    }
+
     /**
      * Extract JWT token from the Authorization header or from a request parameter.
      */
@@ -16,11 +16,19 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * JWT Token provider for generating and validating tokens
+ * JWT Token provider for generating and validating tokens.
+ * 
+ * The HMAC signing key and the JWT parser are derived from the configured secret
+ * once and reused across calls; both are immutable and thread-safe. They are
+ * rebuilt (and swapped atomically) whenever the secret changes.
  */
 @Component
 @Slf4j
@@ -28,7 +36,7 @@ public class JwtTokenProvider {
 
     // JWT configuration with defaults
     @Value("${app.jwt.secret:defaultSecretKeyForJwtTokenGenerationWithMinimum32Chars}")
-    private String jwtSecret;
+    private volatile String jwtSecret;
 
     @Value("${app.jwt.expiration:86400000}") // 24 hours
     private long jwtExpirationInMs;
@@ -39,6 +47,17 @@ public class JwtTokenProvider {
     @Value("${app.jwt.issuer:vendor-auth-service}")
     private String jwtIssuer;
 
+    // Key and parser derived from jwtSecret; replaced as a unit when the secret changes
+    private final AtomicReference<SigningState> signingState = new AtomicReference<>();
+
+    // Notified after the signing key is replaced, e.g. to drop cached verifications
+    private final List<Runnable> signingKeyListeners = new CopyOnWriteArrayList<>();
+
+    // Interned authority lists keyed by the token's roles claim; only our own signed
+    // tokens reach this map, so the set of distinct keys stays small
+    private static final int MAX_INTERNED_ROLE_SETS = 256;
+    private final ConcurrentMap<List<String>, List<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+
     /**
      * Generate a JWT token for the specified subject with custom claims
      * @param subject The subject (typically user ID or username)
@@ -51,6 +70,7 @@ public class JwtTokenProvider {
                 .setClaims(claims != null ? claims : new HashMap<>())
                 .setSubject(subject)
                 .setIssuer(jwtIssuer)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationInMs))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
@@ -79,6 +99,7 @@ public class JwtTokenProvider {
                 .setClaims(claims != null ? claims : new HashMap<>())
                 .setSubject(subject)
                 .setIssuer(jwtIssuer)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(expiration)
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
@@ -89,6 +110,25 @@ public class JwtTokenProvider {
      * Generate a token for a UserDetails object
      */
     public String generateToken(UserDetails userDetails) {
+        return generateAccessToken(userDetails.getUsername(), rolesClaims(userDetails));
+    }
+
+    /**
+     * Generate a token for a UserDetails object with a precomputed expiration,
+     * so callers that report the expiry do not need to parse the token back
+     */
+    public String generateToken(UserDetails userDetails, Date expiration) {
+        return generateToken(userDetails.getUsername(), rolesClaims(userDetails), expiration);
+    }
+
+    /**
+     * Expiration for an access token issued now
+     */
+    public Date newAccessTokenExpiration() {
+        return new Date(System.currentTimeMillis() + jwtExpirationInMs);
+    }
+
+    private Map<String, Object> rolesClaims(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         // Add user roles/authorities to claims
         if (userDetails.getAuthorities() != null) {
@@ -96,7 +136,7 @@ public class JwtTokenProvider {
                     .map(GrantedAuthority::getAuthority)
                     .collect(Collectors.toList()));
         }
-        return generateAccessToken(userDetails.getUsername(), claims);
+        return claims;
     }
 
     /**
@@ -111,10 +151,7 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
+            getParser().parseSignedClaims(token);
             return true;
         } catch (SignatureException ex) {
             log.error("Invalid JWT signature");
@@ -130,6 +167,17 @@ public class JwtTokenProvider {
         return false;
     }
 
+    /**
+     * Verify the token signature and parse it once, returning the claims, expiry and
+     * authorities together. Unlike {@link #validateToken(String)}, failures are reported
+     * by throwing the underlying {@link JwtException} (or IllegalArgumentException for
+     * an empty token) so callers can distinguish expired from invalid tokens.
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        return new VerifiedToken(claims, authoritiesFor(claims));
+    }
+
     /**
      * Get username from JWT token
      */
@@ -156,9 +204,7 @@ public class JwtTokenProvider {
      * Get all claims from JWT token
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -175,22 +221,18 @@ public class JwtTokenProvider {
      * Create Authentication object from JWT token
      */
     public Authentication getAuthentication(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        String username = claims.getSubject();
-        
-        // Extract roles from claims
-        @SuppressWarnings("unchecked")
-        List<String> roles = claims.get("roles") != null ? 
-                (List<String>) claims.get("roles") : Collections.emptyList();
-        
-        // Convert roles to GrantedAuthority objects
-        Collection<? extends GrantedAuthority> authorities = roles.stream()
-                .map(role -> new SimpleGrantedAuthority(role))
-                .collect(Collectors.toList());
+        return getAuthentication(verify(token));
+    }
+
+    /**
+     * Create Authentication object from an already verified token
+     */
+    public Authentication getAuthentication(VerifiedToken verifiedToken) {
+        List<GrantedAuthority> authorities = verifiedToken.getAuthorities();
 
         // Create UserDetails object
         UserDetails userDetails = User.builder()
-                .username(username)
+                .username(verifiedToken.getSubject())
                 .password("")
                 .authorities(authorities)
                 .build();
@@ -198,12 +240,73 @@ public class JwtTokenProvider {
         return new UsernamePasswordAuthenticationToken(userDetails, "", authorities);
     }
 
+    /**
+     * Convert the roles claim to GrantedAuthority objects, reusing the same
+     * immutable list for every token that carries the same roles
+     */
+    private List<GrantedAuthority> authoritiesFor(Claims claims) {
+        Object rolesClaim = claims.get("roles");
+        if (!(rolesClaim instanceof Collection<?> rawRoles) || rawRoles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> roles = rawRoles.stream().map(String::valueOf).toList();
+        List<GrantedAuthority> authorities = authoritiesByRoles.get(roles);
+        if (authorities == null) {
+            authorities = roles.stream()
+                    .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                    .toList();
+            if (authoritiesByRoles.size() < MAX_INTERNED_ROLE_SETS) {
+                List<GrantedAuthority> existing = authoritiesByRoles.putIfAbsent(roles, authorities);
+                if (existing != null) {
+                    authorities = existing;
+                }
+            }
+        }
+        return authorities;
+    }
+
     /**
      * Get the signing key for JWT
      */
     private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingState().key;
+    }
+
+    /**
+     * Get the shared parser that verifies tokens against the current signing key
+     */
+    private JwtParser getParser() {
+        return signingState().parser;
+    }
+
+    /**
+     * Returns the key/parser pair for the current secret, rebuilding it if the
+     * secret has changed since it was last built.
+     */
+    private SigningState signingState() {
+        String secret = jwtSecret;
+        SigningState state = signingState.get();
+        if (state != null && state.secret.equals(secret)) {
+            return state;
+        }
+        SigningState rebuilt = new SigningState(secret);
+        // Only replace the state we observed; a concurrent setJwtSecret wins
+        if (signingState.compareAndSet(state, rebuilt) && state != null) {
+            signingKeyChanged();
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Register a callback run whenever the signing key changes. Package-private:
+     * only collaborators in this package (the verified token cache) need it.
+     */
+    void addSigningKeyListener(Runnable listener) {
+        signingKeyListeners.add(listener);
+    }
+
+    private void signingKeyChanged() {
+        signingKeyListeners.forEach(Runnable::run);
     }
 
     /**
@@ -214,6 +317,14 @@ public class JwtTokenProvider {
         return generateToken(userPrincipal);
     }
 
+    /**
+     * Generate token from Authentication object with a precomputed expiration
+     */
+    public String generateToken(Authentication authentication, Date expiration) {
+        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        return generateToken(userPrincipal, expiration);
+    }
+
     /**
      * Generate refresh token from Authentication object
      */
@@ -227,5 +338,23 @@ public class JwtTokenProvider {
      */
     public void setJwtSecret(String jwtSecret) {
         this.jwtSecret = jwtSecret;
+        if (this.signingState.getAndSet(new SigningState(jwtSecret)) != null) {
+            signingKeyChanged();
+        }
+    }
+
+    /**
+     * Signing key and matching parser built from a single secret.
+     */
+    private static final class SigningState {
+        private final String secret;
+        private final SecretKey key;
+        private final JwtParser parser;
+
+        private SigningState(String secret) {
+            this.secret = secret;
+            this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            this.parser = Jwts.parser().verifyWith(key).build();
+        }
     }
 }
@@ -0,0 +1,192 @@
+package com.vendorauth.security;
+
+import com.vendorauth.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for CPU-heavy password hashing, shared by all password encoders.
+ *
+ * Hashes run on at most {@code pool-size} threads (default: one per CPU) with up to
+ * {@code queue-capacity} waiting, so a burst of logins cannot occupy every request thread
+ * with hashing or oversubscribe the CPUs. Admission is refused with a
+ * {@link PasswordHashingUnavailableException} (503 with Retry-After) when the queue is
+ * full, or when no thread has picked a hash up within {@code max-queue-time}: the caller
+ * stops waiting at that point, so it gets a fast 503 rather than sitting through the whole
+ * backlog. An abandoned hash never runs; a worker discards it when it reaches the head of
+ * the queue.
+ *
+ * Per encoder, the following are published: {@code password.hash} (hashing time),
+ * {@code password.hash.queue} (time waiting for a thread), {@code password.hash.queued}
+ * (hashes currently waiting) and {@code password.hash.rejected} (by reason). Pool-wide
+ * statistics are the {@code executor.*} metrics tagged {@code name=password-hash}.
+ */
+@Component
+public class PasswordHashExecutor {
+
+    private final ExecutorService pool;
+    private final MeterRegistry meterRegistry;
+    private final long maxQueueNanos;
+    private final Duration retryAfter;
+    private final Map<String, AtomicInteger> queuedByEncoder = new ConcurrentHashMap<>();
+
+    public PasswordHashExecutor(MeterRegistry meterRegistry,
+                                @Value("${app.password-hash.pool-size:0}") int poolSize,
+                                @Value("${app.password-hash.queue-capacity:100}") int queueCapacity,
+                                @Value("${app.password-hash.max-queue-time:PT0.5S}") Duration maxQueueTime,
+                                @Value("${app.password-hash.retry-after:PT1S}") Duration retryAfter) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        this.pool = ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hash", Collections.emptyList());
+        this.meterRegistry = meterRegistry;
+        this.maxQueueNanos = maxQueueTime.toNanos();
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Run the hashing for {@code encoder} (a metric tag, e.g. {@code bcrypt}) on the pool
+     * and wait for its result.
+     *
+     * @throws PasswordHashingUnavailableException if the queue is full or the hash waited
+     *                                             too long for a thread
+     */
+    public <T> T call(String encoder, Supplier<T> hashing) {
+        AtomicInteger queued = queued(encoder);
+        long submitted = System.nanoTime();
+        // Set once by whichever comes first: a worker starting the hash or the caller giving up
+        AtomicBoolean claimed = new AtomicBoolean();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        queued.incrementAndGet();
+        try {
+            pool.execute(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return; // abandoned by the caller while queued
+                }
+                queued.decrementAndGet();
+                long waited = System.nanoTime() - submitted;
+                queueTimer(encoder).record(waited, TimeUnit.NANOSECONDS);
+                try {
+                    result.complete(timedHash(encoder, hashing));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            throw rejected(encoder, "queue_full");
+        }
+        try {
+            try {
+                return result.get(maxQueueNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (abandon(claimed, queued)) {
+                    queueTimer(encoder).record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                    throw rejected(encoder, "queue_time");
+                }
+                // Already hashing: wait for it to finish
+                return result.get();
+            }
+        } catch (InterruptedException e) {
+            abandon(claimed, queued);
+            Thread.currentThread().interrupt();
+            throw new CompletionException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private <T> T timedHash(String encoder, Supplier<T> hashing) {
+        long start = System.nanoTime();
+        try {
+            return hashing.get();
+        } finally {
+            hashTimer(encoder).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Withdraw a hash no worker has started yet; false if one already has
+     */
+    private static boolean abandon(AtomicBoolean claimed, AtomicInteger queued) {
+        if (claimed.compareAndSet(false, true)) {
+            queued.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private PasswordHashingUnavailableException rejected(String encoder, String reason) {
+        Counter.builder("password.hash.rejected")
+                .description("Password hashes refused because the hashing pool was saturated")
+                .tag("encoder", encoder)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return new PasswordHashingUnavailableException("Password hashing is at capacity", retryAfter);
+    }
+
+    private AtomicInteger queued(String encoder) {
+        return queuedByEncoder.computeIfAbsent(encoder, name -> {
+            AtomicInteger queued = new AtomicInteger();
+            Gauge.builder("password.hash.queued", queued, AtomicInteger::get)
+                    .description("Password hashes waiting for a hashing thread")
+                    .tag("encoder", name)
+                    .register(meterRegistry);
+            return queued;
+        });
+    }
+
+    private Timer hashTimer(String encoder) {
+        return Timer.builder("password.hash")
+                .description("Time spent hashing a password")
+                .tag("encoder", encoder)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Timer queueTimer(String encoder) {
+        return Timer.builder("password.hash.queue")
+                .description("Time a password hash waited for a hashing thread")
+                .tag("encoder", encoder)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.vendorauth.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder that runs another encoder's hashing on the {@link PasswordHashExecutor},
+ * so request threads only wait for it and hashing is subject to the pool's admission control.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final String name;
+    private final PasswordEncoder delegate;
+    private final PasswordHashExecutor hashExecutor;
+
+    /**
+     * @param name encoder name used to tag the hashing metrics, e.g. {@code bcrypt}
+     */
+    public PooledPasswordEncoder(String name, PasswordEncoder delegate, PasswordHashExecutor hashExecutor) {
+        this.name = name;
+        this.delegate = delegate;
+        this.hashExecutor = hashExecutor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashExecutor.call(name, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hashExecutor.call(name, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
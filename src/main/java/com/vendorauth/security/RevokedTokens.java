@@ -0,0 +1,90 @@
+package com.vendorauth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens revoked before their expiry, by logout or by refresh-token rotation.
+ * 
+ * {@link JwtAuthenticationFilter} rejects a revoked token before looking it up in the
+ * {@link VerifiedTokenCache}, and revoking a token also drops its cached verification.
+ * Entries are keyed by the token's SHA-256 fingerprint and kept until the token's own
+ * expiry, capped at {@code max-ttl}; after that the token is rejected as expired anyway.
+ * The list is held in memory: revocations apply to this instance and do not survive a
+ * restart. Its size is published as the {@code jwt.revoked} cache metrics.
+ */
+@Component
+@Slf4j
+public class RevokedTokens {
+
+    private final Cache<String, Long> revoked;
+    private final long maxTtlNanos;
+    private final Optional<VerifiedTokenCache> tokenCache;
+
+    public RevokedTokens(MeterRegistry meterRegistry,
+                         Optional<VerifiedTokenCache> tokenCache,
+                         @Value("${app.jwt.revocation.max-ttl:P7D}") Duration maxTtl) {
+        this.tokenCache = tokenCache;
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.revoked = Caffeine.newBuilder()
+                .expireAfter(new RevocationExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, revoked, "jwt.revoked");
+    }
+
+    /**
+     * Reject the token from now on
+     *
+     * @param expiration the token's expiry, or null to keep it revoked for {@code max-ttl}
+     */
+    public void revoke(String token, Date expiration) {
+        revoked.put(VerifiedTokenCache.fingerprint(token),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+        tokenCache.ifPresent(cache -> cache.invalidate(token));
+        log.debug("Token revoked until {}", expiration);
+    }
+
+    /**
+     * Whether the token has been revoked
+     */
+    public boolean isRevoked(String token) {
+        // Skip hashing the token while nothing is revoked, the common case
+        return revoked.estimatedSize() > 0 && revoked.getIfPresent(VerifiedTokenCache.fingerprint(token)) != null;
+    }
+
+    /**
+     * Keeps each entry until the token's expiry, capped at the maximum TTL
+     */
+    private final class RevocationExpiry implements Expiry<String, Long> {
+
+        @Override
+        public long expireAfterCreate(String key, Long expiresAtMillis, long currentTime) {
+            long remainingNanos = expiresAtMillis == Long.MAX_VALUE
+                    ? maxTtlNanos
+                    : TimeUnit.MILLISECONDS.toNanos(expiresAtMillis - System.currentTimeMillis());
+            return Math.max(0, Math.min(maxTtlNanos, remainingNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Long expiresAtMillis, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, expiresAtMillis, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Long expiresAtMillis, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,41 +1,210 @@
 package com.vendorauth.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.shiro.crypto.hash.Sha256Hash;
+import org.apache.shiro.lang.util.ByteSource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
 /**
  * ShiroPasswordEncoder implements Spring Security's PasswordEncoder
  * using Shiro's hashing capabilities for consistency with Shiro's security model.
+ *
+ * Encoded passwords are {@code $shiro-sha256$<iterations>$<base64 salt>$<hex hash>}, with a
+ * random 16-byte salt per password, so the cost can change without invalidating stored
+ * hashes. Unprefixed hex hashes from earlier versions (500,000 iterations, no salt) are
+ * still verified. Unless {@code app.password-hash.shiro.iterations} is set, the iteration
+ * count is calibrated at startup to take about {@code target-time} per hash on this CPU,
+ * never below {@code min-iterations}. {@link #upgradeEncoding} reports legacy hashes and
+ * hashes with fewer iterations than the current count; {@link VendorConfigRealm} rehashes
+ * and saves those on the vendor's next successful login.
+ *
+ * Hashing runs on the bounded {@link PasswordHashExecutor} (metrics tagged {@code encoder=shiro}).
+ * Successful verifications are remembered for a short TTL, so repeated logins with the same
+ * password skip the hash. Entries are keyed by an HMAC of the raw password and the stored
+ * hash under a random per-process key: neither the password nor an offline-attackable
+ * hash of it is kept in memory, and changing the stored hash makes old entries unreachable.
+ * Failed verifications are never cached. Hit/miss statistics are published as the
+ * {@code password.verified} cache metrics.
  */
+@Slf4j
 @Component
 public class ShiroPasswordEncoder implements PasswordEncoder {
-    
-    // Iteration count for hashing
-    private final int hashIterations = 500000;
-    
+
+    static final String PREFIX = "$shiro-sha256$";
+    static final int LEGACY_ITERATIONS = 500000;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final ByteSource NO_SALT = ByteSource.Util.bytes(new byte[0]);
+    private static final int SALT_BYTES = 16;
+    private static final int CALIBRATION_ITERATIONS = 20000;
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    // Iteration count for new hashes
+    private final int hashIterations;
+
+    private final PasswordHashExecutor hashExecutor;
+    private final Cache<String, Boolean> verified;
+    private final SecretKeySpec cacheKey;
+    private final SecureRandom random = new SecureRandom();
+
+    public ShiroPasswordEncoder(PasswordHashExecutor hashExecutor,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.password-hash.verification-cache.ttl:PT5M}") Duration ttl,
+                                @Value("${app.password-hash.verification-cache.maximum-size:10000}") long maximumSize,
+                                @Value("${app.password-hash.shiro.iterations:0}") int iterations,
+                                @Value("${app.password-hash.shiro.min-iterations:500000}") int minIterations,
+                                @Value("${app.password-hash.shiro.target-time:PT0.25S}") Duration targetTime) {
+        this.hashExecutor = hashExecutor;
+        this.hashIterations = iterations > 0 ? iterations : calibrate(targetTime, minIterations);
+        Gauge.builder("password.hash.iterations", () -> hashIterations)
+                .description("Hash iterations used for new passwords")
+                .tag("encoder", "shiro")
+                .register(meterRegistry);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "password.verified");
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        this.cacheKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
     @Override
     public String encode(CharSequence rawPassword) {
         if (rawPassword == null) {
             throw new IllegalArgumentException("Raw password cannot be null");
         }
-        // No salt used here; consider adding and storing a per-user salt if needed
-        return new Sha256Hash(rawPassword.toString(), null, hashIterations).toHex();
+        String raw = rawPassword.toString();
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        int iterations = hashIterations;
+        String hash = hashExecutor.call("shiro", () -> hash(raw, ByteSource.Util.bytes(salt), iterations));
+        return PREFIX + iterations + "$" + Base64.getEncoder().encodeToString(salt) + "$" + hash;
     }
-    
+
     @Override
     public boolean matches(CharSequence rawPassword, String encodedPassword) {
         if (rawPassword == null || encodedPassword == null || encodedPassword.trim().length() == 0) {
             return false;
         }
-        
-        String hashedPassword = encode(rawPassword);
-        return encodedPassword.equals(hashedPassword);
+        StoredHash stored = StoredHash.parse(encodedPassword);
+        if (stored == null) {
+            return false;
+        }
+
+        String raw = rawPassword.toString();
+        String key = verificationKey(raw, encodedPassword);
+        if (verified.getIfPresent(key) != null) {
+            return true;
+        }
+        String hashedPassword = hashExecutor.call("shiro", () -> hash(raw, stored.salt(), stored.iterations()));
+        boolean matches = MessageDigest.isEqual(
+                stored.hash().getBytes(StandardCharsets.UTF_8),
+                hashedPassword.getBytes(StandardCharsets.UTF_8));
+        if (matches) {
+            verified.put(key, Boolean.TRUE);
+        }
+        return matches;
     }
-    
+
+    /**
+     * True for legacy (unsalted) hashes and for hashes with fewer iterations than are used
+     * for new passwords on this host
+     */
     @Override
     public boolean upgradeEncoding(String encodedPassword) {
-        // If you need to upgrade the encoding in the future, implement this
-        return false;
+        StoredHash stored = StoredHash.parse(encodedPassword);
+        return stored != null && (stored.legacy() || stored.iterations() < hashIterations);
+    }
+
+    int getHashIterations() {
+        return hashIterations;
+    }
+
+    /**
+     * Iterations that take about {@code targetTime} on this CPU, from the fastest of a few
+     * short probe hashes, rounded to 10,000 and never below {@code minIterations}
+     */
+    static int calibrate(Duration targetTime, int minIterations) {
+        long fastest = Long.MAX_VALUE;
+        for (int round = 0; round < CALIBRATION_ROUNDS; round++) {
+            long start = System.nanoTime();
+            hash("calibration", NO_SALT, CALIBRATION_ITERATIONS);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        double nanosPerIteration = (double) Math.max(1, fastest) / CALIBRATION_ITERATIONS;
+        long iterations = Math.round(targetTime.toNanos() / nanosPerIteration / 10000) * 10000;
+        int calibrated = (int) Math.min(Integer.MAX_VALUE, Math.max(minIterations, iterations));
+        log.info("Shiro password hashing calibrated to {} iterations (target {} ms, {} ns per iteration)",
+                calibrated, targetTime.toMillis(), String.format("%.1f", nanosPerIteration));
+        return calibrated;
+    }
+
+    private static String hash(String rawPassword, ByteSource salt, int iterations) {
+        return new Sha256Hash(rawPassword, salt, iterations).toHex();
+    }
+
+    /**
+     * HMAC over the length-prefixed raw password and stored hash, so that no two
+     * different pairs share a key
+     */
+    private String verificationKey(String rawPassword, String encodedPassword) {
+        byte[] raw = rawPassword.getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = encodedPassword.getBytes(StandardCharsets.UTF_8);
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(cacheKey);
+            mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(raw.length).array());
+            mac.update(raw);
+            mac.update(encoded);
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " not available", e);
+        }
+    }
+
+    /**
+     * Parameters of a stored hash; legacy hashes are plain hex with no salt
+     */
+    private record StoredHash(int iterations, ByteSource salt, String hash, boolean legacy) {
+
+        static StoredHash parse(String encodedPassword) {
+            if (!encodedPassword.startsWith(PREFIX)) {
+                return new StoredHash(LEGACY_ITERATIONS, NO_SALT, encodedPassword, true);
+            }
+            String[] parts = encodedPassword.substring(PREFIX.length()).split("\\$", -1);
+            if (parts.length != 3) {
+                return null;
+            }
+            try {
+                int iterations = Integer.parseInt(parts[0]);
+                if (iterations < 1) {
+                    return null;
+                }
+                byte[] salt = Base64.getDecoder().decode(parts[1]);
+                return new StoredHash(iterations, ByteSource.Util.bytes(salt), parts[2], false);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
     }
 }
@@ -0,0 +1,169 @@
+package com.vendorauth.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.repository.VendorConfigRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.authc.DisabledAccountException;
+import org.apache.shiro.authc.SimpleAuthenticationInfo;
+import org.apache.shiro.authc.UnknownAccountException;
+import org.apache.shiro.authc.UsernamePasswordToken;
+import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.authz.SimpleAuthorizationInfo;
+import org.apache.shiro.cache.CacheManager;
+import org.apache.shiro.realm.AuthorizingRealm;
+import org.apache.shiro.subject.PrincipalCollection;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Shiro realm for the 'shiro' profile that authenticates vendors against their
+ * {@link VendorConfig}.
+ *
+ * The principal is the vendor ID; the credential is checked against the
+ * {@code passwordHash} in the vendor's authDetailsJson, encoded by
+ * {@link ShiroPasswordEncoder}. Only active vendors authenticate. Authenticated vendors
+ * have the role {@code vendor} and the permission {@code vendor:authenticate:<vendorId>}.
+ *
+ * When a login succeeds against a hash that {@link ShiroPasswordEncoder#upgradeEncoding}
+ * reports as outdated (unsalted, or fewer iterations than this host uses), the password
+ * is rehashed and the new {@code passwordHash} saved through {@link VendorConfigRepository}.
+ * The save bumps the vendor's version, so cache entries holding the old hash are no
+ * longer used. A failed rehash is logged and does not fail the login.
+ *
+ * Authentication and authorization info are cached through the realm's
+ * {@link CacheManager}. Cache keys include the vendor configuration's version
+ * ({@code updatedAt}), read from the in-memory vendor catalog, so a changed or
+ * deactivated vendor is never served from an entry built for its previous version;
+ * those entries just age out.
+ */
+@Slf4j
+public class VendorConfigRealm extends AuthorizingRealm {
+
+    static final String ROLE_VENDOR = "vendor";
+    static final String AUTHENTICATION_CACHE = "vendor-realm.authentication";
+    static final String AUTHORIZATION_CACHE = "vendor-realm.authorization";
+
+    static final String PASSWORD_HASH_FIELD = "passwordHash";
+
+    private final VendorConfigRepository vendorConfigRepository;
+    private final ShiroPasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+
+    public VendorConfigRealm(VendorConfigRepository vendorConfigRepository,
+                             ShiroPasswordEncoder passwordEncoder,
+                             ObjectMapper objectMapper,
+                             CacheManager cacheManager) {
+        super(cacheManager);
+        this.vendorConfigRepository = vendorConfigRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        setCredentialsMatcher(this::credentialsMatch);
+        setAuthenticationTokenClass(UsernamePasswordToken.class);
+        setAuthenticationCachingEnabled(true);
+        setAuthenticationCacheName(AUTHENTICATION_CACHE);
+        setAuthorizationCachingEnabled(true);
+        setAuthorizationCacheName(AUTHORIZATION_CACHE);
+    }
+
+    @Override
+    protected AuthenticationInfo doGetAuthenticationInfo(AuthenticationToken token) throws AuthenticationException {
+        String vendorId = (String) token.getPrincipal();
+        VendorConfig config = vendorConfigRepository.findByVendorId(vendorId)
+                .orElseThrow(() -> new UnknownAccountException("Unknown vendor: " + vendorId));
+        if (!config.isActive()) {
+            throw new DisabledAccountException("Vendor is inactive: " + vendorId);
+        }
+        String passwordHash = passwordHash(config);
+        if (passwordHash == null) {
+            throw new UnknownAccountException("No realm credentials configured for vendor: " + vendorId);
+        }
+        return new SimpleAuthenticationInfo(vendorId, passwordHash, getName());
+    }
+
+    @Override
+    protected AuthorizationInfo doGetAuthorizationInfo(PrincipalCollection principals) {
+        String vendorId = (String) getAvailablePrincipal(principals);
+        SimpleAuthorizationInfo info = new SimpleAuthorizationInfo(Set.of(ROLE_VENDOR));
+        info.addStringPermission("vendor:authenticate:" + vendorId);
+        return info;
+    }
+
+    @Override
+    protected Object getAuthenticationCacheKey(AuthenticationToken token) {
+        return versionedKey(token != null ? (String) token.getPrincipal() : null);
+    }
+
+    @Override
+    protected Object getAuthenticationCacheKey(PrincipalCollection principals) {
+        return versionedKey((String) getAvailablePrincipal(principals));
+    }
+
+    @Override
+    protected Object getAuthorizationCacheKey(PrincipalCollection principals) {
+        return versionedKey((String) getAvailablePrincipal(principals));
+    }
+
+    private boolean credentialsMatch(AuthenticationToken token, AuthenticationInfo info) {
+        String rawPassword = new String(((UsernamePasswordToken) token).getPassword());
+        String storedHash = (String) info.getCredentials();
+        if (!passwordEncoder.matches(rawPassword, storedHash)) {
+            return false;
+        }
+        if (passwordEncoder.upgradeEncoding(storedHash)) {
+            rehash((String) token.getPrincipal(), rawPassword, storedHash);
+        }
+        return true;
+    }
+
+    /**
+     * Saves a fresh hash of the password, unless the vendor's hash has changed meanwhile
+     */
+    private void rehash(String vendorId, String rawPassword, String storedHash) {
+        try {
+            Optional<VendorConfig> current = vendorConfigRepository.findByVendorId(vendorId)
+                    .filter(config -> storedHash.equals(passwordHash(config)));
+            if (current.isEmpty()) {
+                return;
+            }
+            ObjectNode authDetails = (ObjectNode) objectMapper.readTree(current.get().getAuthDetailsJson());
+            authDetails.put(PASSWORD_HASH_FIELD, passwordEncoder.encode(rawPassword));
+            // Catalog entries are shared and read-only, so save a copy
+            vendorConfigRepository.save(current.get().toBuilder()
+                    .authDetailsJson(objectMapper.writeValueAsString(authDetails))
+                    .build());
+            log.info("Rehashed realm password for vendor: {}", vendorId);
+        } catch (Exception e) {
+            log.warn("Could not rehash realm password for vendor: {} - {}", vendorId, e.getMessage());
+        }
+    }
+
+    /**
+     * vendorId@version for active vendors; null (not cached) otherwise
+     */
+    private String versionedKey(String vendorId) {
+        if (vendorId == null) {
+            return null;
+        }
+        Optional<VendorConfig> config = vendorConfigRepository.findByVendorId(vendorId)
+                .filter(VendorConfig::isActive);
+        return config.map(c -> vendorId + "@" + c.getUpdatedAt()).orElse(null);
+    }
+
+    private String passwordHash(VendorConfig config) {
+        try {
+            JsonNode authDetails = objectMapper.readTree(config.getAuthDetailsJson());
+            String hash = authDetails == null ? "" : authDetails.path(PASSWORD_HASH_FIELD).asText("");
+            return hash.isEmpty() ? null : hash;
+        } catch (Exception e) {
+            log.warn("Invalid authDetailsJson for vendor: {}", config.getVendorId());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.vendorauth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.repository.VendorConfigRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * {@link UserCache} for the login path, so that repeated logins of a vendor reuse the
+ * UserDetails built by {@link CustomUserDetailsService}.
+ *
+ * Entries expire after {@code app.user-cache.ttl}. Like
+ * {@link com.vendorauth.service.AuthenticatorProfileCache}, each entry remembers the
+ * version ({@code updatedAt}) of the vendor configuration it was built from, and is
+ * dropped on the next read once the vendor's row has changed, been deactivated or been
+ * deleted. The check reads the in-memory vendor catalog, not the database. Hit/miss
+ * statistics are published as the {@code vendor.users} cache metrics.
+ *
+ * The cache holds its own copy of each user and hands out copies: the ProviderManager
+ * erases the credentials of the principal it returns, which must not reach the entry.
+ */
+@Component
+@Slf4j
+public class VendorUserCache implements UserCache {
+
+    private final VendorConfigRepository vendorConfigRepository;
+    private final Cache<String, Entry> users;
+
+    public VendorUserCache(VendorConfigRepository vendorConfigRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.user-cache.ttl:PT5M}") Duration ttl,
+                           @Value("${app.user-cache.maximum-size:10000}") long maximumSize) {
+        this.vendorConfigRepository = vendorConfigRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "vendor.users");
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        if (username == null) {
+            return null;
+        }
+        Entry entry = users.getIfPresent(username);
+        if (entry == null) {
+            return null;
+        }
+        Optional<VendorConfig> current = vendorConfigRepository.findByVendorId(username);
+        if (current.filter(VendorConfig::isActive).filter(entry::isFor).isEmpty()) {
+            log.debug("Dropping cached user for changed or inactive vendor: {}", username);
+            users.invalidate(username);
+            return null;
+        }
+        return User.withUserDetails(entry.user()).build();
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        vendorConfigRepository.findByVendorId(user.getUsername())
+                .filter(VendorConfig::isActive)
+                .ifPresent(config -> users.put(user.getUsername(),
+                        new Entry(User.withUserDetails(user).build(), config.getUpdatedAt())));
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        users.invalidate(username);
+    }
+
+    private record Entry(UserDetails user, LocalDateTime version) {
+
+        boolean isFor(VendorConfig config) {
+            return Objects.equals(version, config.getUpdatedAt());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.vendorauth.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Result of a single signature verification and parse of a JWT by
+ * {@link JwtTokenProvider#verify(String)}. Carries everything callers need
+ * from the token so it never has to be parsed a second time.
+ */
+public final class VerifiedToken {
+
+    private final Claims claims;
+    private final List<GrantedAuthority> authorities;
+
+    VerifiedToken(Claims claims, List<GrantedAuthority> authorities) {
+        this.claims = claims;
+        this.authorities = authorities;
+    }
+
+    /**
+     * All verified claims of the token
+     */
+    public Claims getClaims() {
+        return claims;
+    }
+
+    /**
+     * Token subject (username or vendor ID)
+     */
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    /**
+     * Token expiration, or null if the token does not expire
+     */
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    /**
+     * Authorities from the roles claim; instances are shared between tokens with the same roles
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+}
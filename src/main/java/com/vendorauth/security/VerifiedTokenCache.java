@@ -0,0 +1,151 @@
+package com.vendorauth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of already verified bearer tokens, used by {@link JwtAuthenticationFilter}
+ * in the default security filter chain to skip signature verification for tokens it has
+ * recently seen.
+ * 
+ * Entries are keyed by a SHA-256 fingerprint of the token (the token itself is not
+ * retained) and live no longer than the token's own expiry or the configured maximum TTL,
+ * whichever comes first. Eviction is size-bounded (W-TinyLFU). Hit/miss statistics are
+ * published as the {@code jwt.verified} cache metrics.
+ * 
+ * The cache is cleared whenever {@link JwtTokenProvider}'s signing key changes, and a
+ * token's entry is dropped when it is revoked through {@link RevokedTokens}, which the
+ * filter checks before using the cache.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.jwt.verified-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final Cache<String, Entry> cache;
+    private final long maxTtlNanos;
+
+    // Bumped on every key change so verifications that raced with it are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public VerifiedTokenCache(JwtTokenProvider tokenProvider,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.jwt.verified-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${app.jwt.verified-cache.max-ttl:PT5M}") Duration maxTtl) {
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+        tokenProvider.addSigningKeyListener(this::invalidateAll);
+    }
+
+    /**
+     * Returns the authentication for the token, verifying it through the provider only
+     * on a cache miss. Each call returns a fresh Authentication instance so callers may
+     * attach request-specific details to it.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token fails verification
+     */
+    public Authentication getAuthentication(String token, JwtTokenProvider tokenProvider) {
+        String key = fingerprint(token);
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            long observedGeneration = generation.get();
+            VerifiedToken verifiedToken = tokenProvider.verify(token);
+            entry = new Entry(tokenProvider.getAuthentication(verifiedToken), verifiedToken.getExpiration());
+            cache.put(key, entry);
+            if (generation.get() != observedGeneration) {
+                cache.invalidate(key);
+            }
+        }
+        Authentication authentication = entry.authentication;
+        return new UsernamePasswordAuthenticationToken(
+                authentication.getPrincipal(), authentication.getCredentials(), authentication.getAuthorities());
+    }
+
+    /**
+     * Drops a single token from the cache; it will be fully verified on next use.
+     */
+    public void invalidate(String token) {
+        cache.invalidate(fingerprint(token));
+    }
+
+    /**
+     * Drops all cached verifications, e.g. after a signing key change.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        log.debug("Verified token cache cleared");
+    }
+
+    /**
+     * SHA-256 fingerprint of the token, so that the token itself is not retained
+     */
+    static String fingerprint(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final Authentication authentication;
+        private final Date expiration;
+
+        private Entry(Authentication authentication, Date expiration) {
+            this.authentication = authentication;
+            this.expiration = expiration;
+        }
+    }
+
+    /**
+     * Caps each entry's lifetime at the token's own expiry.
+     */
+    private final class TokenExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            if (entry.expiration == null) {
+                return maxTtlNanos;
+            }
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(
+                    entry.expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(maxTtlNanos, remainingNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
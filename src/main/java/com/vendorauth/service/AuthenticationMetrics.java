@@ -0,0 +1,143 @@
+package com.vendorauth.service;
+
+import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.entity.VendorConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer metrics for the vendor authentication pipeline.
+ *
+ * <ul>
+ *   <li>{@code vendor.auth.requests}: timer per authentication attempt, tagged
+ *       {@code vendorId}, {@code authType}, {@code outcome} and {@code errorCode};</li>
+ *   <li>{@code vendor.auth.phase}: timer per pipeline phase ({@code config_lookup},
+ *       {@code validation}, {@code authenticator}), tagged {@code vendorId} and {@code authType};</li>
+ *   <li>{@code vendor.auth.failures}: counter per failure, tagged {@code vendorId},
+ *       {@code authType} and {@code errorCode}.</li>
+ * </ul>
+ * Outbound HTTP time is published by {@link com.vendorauth.http.VendorRetryPolicy}.
+ *
+ * The vendor ID in a request path is caller-supplied, so only vendors with a configuration
+ * get their own {@code vendorId} tag, and at most {@code app.metrics.max-vendor-tags} of
+ * them; lookups of unknown vendors are tagged {@value #UNKNOWN_VENDOR}, vendors beyond the
+ * cap {@value #OTHER_VENDOR}.
+ */
+@Component
+@Slf4j
+public class AuthenticationMetrics {
+
+    public static final String UNKNOWN_VENDOR = "unknown";
+    public static final String OTHER_VENDOR = "other";
+    static final String NONE = "none";
+
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxVendorTags;
+    private final Set<String> vendorTags = ConcurrentHashMap.newKeySet();
+
+    public AuthenticationMetrics(MeterRegistry meterRegistry,
+                                 @Value("${app.metrics.max-vendor-tags:500}") int maxVendorTags) {
+        this.meterRegistry = meterRegistry;
+        this.maxVendorTags = maxVendorTags;
+    }
+
+    /**
+     * Stages of an authentication attempt timed in {@code vendor.auth.phase}
+     */
+    public enum Phase {
+        CONFIG_LOOKUP("config_lookup"),
+        VALIDATION("validation"),
+        AUTHENTICATOR("authenticator");
+
+        private final String tagValue;
+
+        Phase(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
+
+    /**
+     * Record the time since {@code startNanos} spent in a phase.
+     *
+     * @param config the vendor's configuration, or null if it was not found
+     */
+    public void recordPhase(Phase phase, VendorConfig config, long startNanos) {
+        Timer.builder("vendor.auth.phase")
+                .description("Time spent in each phase of vendor authentication")
+                .tag("phase", phase.tagValue)
+                .tag("vendorId", vendorTag(config))
+                .tag("authType", authTypeTag(config))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the outcome of an authentication attempt that started at {@code startNanos}.
+     *
+     * @param config the vendor's configuration, or null if it was not found
+     * @return the response, for chaining
+     */
+    public AuthenticationResponse recordOutcome(VendorConfig config, AuthenticationResponse response, long startNanos) {
+        String vendorId = vendorTag(config);
+        String authType = authTypeTag(config);
+        String errorCode = response.isSuccess() || response.getErrorCode() == null ? NONE : response.getErrorCode();
+        Timer.builder("vendor.auth.requests")
+                .description("Vendor authentication attempts")
+                .tag("vendorId", vendorId)
+                .tag("authType", authType)
+                .tag("outcome", response.isSuccess() ? "success" : "failure")
+                .tag("errorCode", errorCode)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (!response.isSuccess()) {
+            Counter.builder("vendor.auth.failures")
+                    .description("Failed vendor authentication attempts by error code")
+                    .tag("vendorId", vendorId)
+                    .tag("authType", authType)
+                    .tag("errorCode", errorCode)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return response;
+    }
+
+    String vendorTag(VendorConfig config) {
+        if (config == null || config.getVendorId() == null) {
+            return UNKNOWN_VENDOR;
+        }
+        String vendorId = config.getVendorId();
+        if (vendorTags.contains(vendorId)) {
+            return vendorId;
+        }
+        if (vendorTags.size() >= maxVendorTags) {
+            return OTHER_VENDOR;
+        }
+        if (vendorTags.add(vendorId) && vendorTags.size() == maxVendorTags) {
+            log.warn("Reached {} distinct vendorId metric tags; further vendors are tagged '{}'",
+                    maxVendorTags, OTHER_VENDOR);
+        }
+        return vendorId;
+    }
+
+    private static String authTypeTag(VendorConfig config) {
+        return config != null && config.getAuthType() != null ? config.getAuthType().name() : NONE;
+    }
+}
@@ -0,0 +1,270 @@
+package com.vendorauth.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.vendorauth.dto.AuthenticationRequest;
+import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.entity.VendorConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Successful authentication responses, shared by every {@link CachingVendorAuthenticator}.
+ *
+ * Entries are keyed by vendor, auth type and configuration version ({@code updatedAt})
+ * plus an HMAC of the request's credential fields under a random per-process key, so no
+ * credential is held in memory and any configuration change makes old entries
+ * unreachable. Each entry lives until the earlier of the vendor's {@code cacheTtlSeconds}
+ * and the response's {@code tokenExpiry} less {@code expiry-skew}, capped by
+ * {@code max-ttl}; a response with neither is not cached. Requests carrying an
+ * authorization code are never cached, as codes are single-use. Statistics are
+ * published as the {@code vendor.auth.results} cache metrics.
+ *
+ * Concurrent misses for the same key are collapsed into a single vendor call whose
+ * response (or failure) is shared by all waiting callers. Every caller gets its own copy
+ * of the response, stamped with the time it was served.
+ */
+@Component
+public class AuthenticationResultCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final Duration maxTtl;
+    private final Duration expirySkew;
+    private final Clock clock;
+    private final AsyncCache<String, Entry> results;
+    private final SecretKeySpec cacheKey;
+
+    @Autowired
+    public AuthenticationResultCache(MeterRegistry meterRegistry,
+                                     @Value("${app.auth-cache.enabled:true}") boolean enabled,
+                                     @Value("${app.auth-cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${app.auth-cache.max-ttl:PT1H}") Duration maxTtl,
+                                     @Value("${app.auth-cache.expiry-skew:PT30S}") Duration expirySkew) {
+        this(meterRegistry, enabled, maximumSize, maxTtl, expirySkew, Clock.systemDefaultZone());
+    }
+
+    AuthenticationResultCache(MeterRegistry meterRegistry, boolean enabled, long maximumSize,
+                              Duration maxTtl, Duration expirySkew, Clock clock) {
+        this.enabled = enabled;
+        this.maxTtl = maxTtl;
+        this.expirySkew = expirySkew;
+        this.clock = clock;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new EntryExpiry())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "vendor.auth.results");
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.cacheKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    /**
+     * Cache key for the request against the configuration, or null if the request must
+     * not be served from the cache
+     */
+    public String key(VendorConfig config, AuthenticationRequest request) {
+        if (!enabled || request == null || request.getAuthorizationCode() != null) {
+            return null;
+        }
+        return config.getVendorId() + '|' + config.getAuthType() + '|' + config.getUpdatedAt()
+                + '|' + fingerprint(request);
+    }
+
+    /**
+     * The cached response for the key, or the one obtained with the loader, remembered
+     * for at most {@code vendorTtl} (null if the vendor did not set one). Only one load per
+     * key is in flight at a time; it runs on the calling thread of the first caller to
+     * miss. A null key bypasses the cache.
+     */
+    public AuthenticationResponse get(String key, Duration vendorTtl, Supplier<AuthenticationResponse> loader) {
+        if (key == null) {
+            return loader.get();
+        }
+        CompletableFuture<Entry> load = new CompletableFuture<>();
+        CompletableFuture<Entry> future = results.get(key, (k, executor) -> load);
+        if (future == load) {
+            try {
+                load.complete(entry(loader.get(), vendorTtl));
+            } catch (Throwable t) {
+                // Errors too: an uncompleted load would block every later caller for the key.
+                // Failed futures are dropped from the cache automatically
+                load.completeExceptionally(t);
+            }
+        }
+        try {
+            return copyOf(future.join().response());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #get(String, Duration, Supplier)}; the loader is
+     * started by the first caller to miss and its future is shared until it completes.
+     */
+    public CompletableFuture<AuthenticationResponse> getAsync(
+            String key, Duration vendorTtl, Supplier<CompletableFuture<AuthenticationResponse>> loader) {
+        if (key == null) {
+            return loader.get();
+        }
+        CompletableFuture<Entry> load = new CompletableFuture<>();
+        CompletableFuture<Entry> future = results.get(key, (k, executor) -> load);
+        if (future == load) {
+            try {
+                loader.get().whenComplete((response, error) -> {
+                    if (error != null) {
+                        load.completeExceptionally(error);
+                    } else {
+                        load.complete(entry(response, vendorTtl));
+                    }
+                });
+            } catch (Throwable t) {
+                load.completeExceptionally(t);
+            }
+        }
+        return future.thenApply(entry -> copyOf(entry.response()));
+    }
+
+    /**
+     * The response with how long to keep it: until the earlier of {@code vendorTtl} and
+     * the token expiry less the skew, capped at {@code max-ttl}; zero for failures and
+     * responses without any TTL, which are then dropped as soon as the load completes
+     */
+    private Entry entry(AuthenticationResponse response, Duration vendorTtl) {
+        if (response == null || !response.isSuccess()) {
+            return new Entry(response, 0);
+        }
+        Duration ttl = vendorTtl;
+        if (response.getTokenExpiry() != null) {
+            Duration untilExpiry = Duration.between(LocalDateTime.now(clock), response.getTokenExpiry())
+                    .minus(expirySkew);
+            ttl = ttl == null || untilExpiry.compareTo(ttl) < 0 ? untilExpiry : ttl;
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            return new Entry(response, 0);
+        }
+        if (ttl.compareTo(maxTtl) > 0) {
+            ttl = maxTtl;
+        }
+        return new Entry(response, ttl.toNanos());
+    }
+
+    /**
+     * Each caller gets its own response instance, timestamped now; the shared one stays untouched.
+     */
+    private AuthenticationResponse copyOf(AuthenticationResponse response) {
+        if (response == null) {
+            return null;
+        }
+        return AuthenticationResponse.builder()
+                .success(response.isSuccess())
+                .message(response.getMessage())
+                .errorCode(response.getErrorCode())
+                .vendorId(response.getVendorId())
+                .timestamp(LocalDateTime.now(clock))
+                .accessToken(response.getAccessToken())
+                .refreshToken(response.getRefreshToken())
+                .tokenExpiry(response.getTokenExpiry())
+                .additionalData(response.getAdditionalData() != null
+                        ? new LinkedHashMap<>(response.getAdditionalData()) : null)
+                .build();
+    }
+
+    /**
+     * Drop all cached responses
+     */
+    public void clear() {
+        results.synchronous().invalidateAll();
+    }
+
+    /**
+     * HMAC over the length-prefixed credential fields, with additional parameters in key
+     * order, so that no two different requests share a fingerprint
+     */
+    private String fingerprint(AuthenticationRequest request) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(cacheKey);
+            update(mac, request.getUsername());
+            update(mac, request.getPassword());
+            update(mac, request.getToken());
+            update(mac, request.getClientId());
+            update(mac, request.getClientSecret());
+            update(mac, request.getRedirectUri());
+            Map<String, Object> params = request.getAdditionalParams() != null
+                    ? new TreeMap<>(request.getAdditionalParams())
+                    : Map.of();
+            mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(params.size()).array());
+            for (Map.Entry<String, Object> param : params.entrySet()) {
+                update(mac, param.getKey());
+                update(mac, Objects.toString(param.getValue(), null));
+            }
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " not available", e);
+        }
+    }
+
+    private static void update(Mac mac, String value) {
+        if (value == null) {
+            mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        mac.update(bytes);
+    }
+
+    private record Entry(AuthenticationResponse response, long ttlNanos) {
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
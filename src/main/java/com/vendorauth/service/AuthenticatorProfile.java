@@ -0,0 +1,38 @@
+package com.vendorauth.service;
+
+import com.vendorauth.entity.VendorConfig;
+
+import java.util.Optional;
+
+/**
+ * Immutable, pre-validated form of a vendor's authentication configuration.
+ * 
+ * A profile is produced once per configuration version by
+ * {@link VendorAuthenticator#compile(VendorConfig)} and then reused for every
+ * authentication request against that vendor, so that JSON parsing, key
+ * construction and validation do not happen on the request path.
+ * 
+ * Implementations are specific to each authenticator and must be thread-safe.
+ */
+public interface AuthenticatorProfile {
+    
+    /**
+     * The configuration this profile was compiled from.
+     */
+    VendorConfig getConfig();
+    
+    /**
+     * The vendor this profile belongs to.
+     */
+    default String getVendorId() {
+        return getConfig().getVendorId();
+    }
+    
+    /**
+     * The URL this profile's authenticator calls on each authentication, if it calls out
+     * to the vendor at all.
+     */
+    default Optional<String> getUpstreamUrl() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,102 @@
+package com.vendorauth.service;
+
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.enums.AuthType;
+import com.vendorauth.exception.AuthenticationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of compiled {@link AuthenticatorProfile}s keyed by vendor ID.
+ *
+ * An entry is reused for as long as the vendor's configuration version
+ * (its {@code updatedAt} timestamp and auth type) is unchanged; any change
+ * causes the configuration to be recompiled on the next request.
+ * Compilation failures are cached as well, so an invalid configuration is
+ * reported without being re-parsed on every request.
+ */
+@Component
+@Slf4j
+public class AuthenticatorProfileCache {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the compiled profile for the given configuration, compiling it if
+     * no profile exists for the current configuration version.
+     *
+     * @param authenticator The authenticator responsible for the vendor's auth type
+     * @param config The current vendor configuration
+     * @return Compiled profile
+     * @throws AuthenticationException if the configuration is invalid
+     */
+    public AuthenticatorProfile getProfile(VendorAuthenticator authenticator, VendorConfig config) {
+        Entry entry = entries.get(config.getVendorId());
+        if (entry == null || !entry.isFor(authenticator, config)) {
+            entry = compile(authenticator, config);
+            entries.put(config.getVendorId(), entry);
+        }
+        return entry.resolve();
+    }
+
+    /**
+     * Removes any compiled profile for the given vendor.
+     */
+    public void evict(String vendorId) {
+        entries.remove(vendorId);
+    }
+
+    /**
+     * Removes all compiled profiles.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private Entry compile(VendorAuthenticator authenticator, VendorConfig config) {
+        log.debug("Compiling authenticator profile for vendor: {} (version: {})",
+                config.getVendorId(), config.getUpdatedAt());
+        try {
+            return new Entry(authenticator, config, authenticator.compile(config), null);
+        } catch (AuthenticationException e) {
+            log.warn("Invalid configuration for vendor: {} - {}", config.getVendorId(), e.getMessage());
+            return new Entry(authenticator, config, null, e);
+        }
+    }
+
+    private static final class Entry {
+        private final VendorAuthenticator authenticator;
+        private final AuthType authType;
+        private final LocalDateTime version;
+        private final AuthenticatorProfile profile;
+        private final AuthenticationException failure;
+
+        private Entry(VendorAuthenticator authenticator, VendorConfig config,
+                      AuthenticatorProfile profile, AuthenticationException failure) {
+            this.authenticator = authenticator;
+            this.authType = config.getAuthType();
+            this.version = config.getUpdatedAt();
+            this.profile = profile;
+            this.failure = failure;
+        }
+
+        boolean isFor(VendorAuthenticator authenticator, VendorConfig config) {
+            return this.authenticator == authenticator
+                    && this.authType == config.getAuthType()
+                    && Objects.equals(this.version, config.getUpdatedAt());
+        }
+
+        AuthenticatorProfile resolve() {
+            if (failure != null) {
+                throw new AuthenticationException(
+                    failure.getVendorId(), failure.getErrorCode(), failure.getMessage(), failure);
+            }
+            return profile;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.vendorauth.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vendorauth.dto.AuthenticationRequest;
+import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.entity.VendorConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Decorator that serves repeated successful authentications from the
+ * {@link AuthenticationResultCache} instead of calling the vendor again.
+ *
+ * Vendors opt in with {@code "cacheTtlSeconds"} in authDetailsJson, or by returning a
+ * {@code tokenExpiry}; the TTL is read once per configuration version, in
+ * {@link #compile(VendorConfig)}. Concurrent requests with the same credentials share one
+ * vendor call, and each gets its own copy of the response.
+ */
+@Slf4j
+public class CachingVendorAuthenticator implements VendorAuthenticator {
+
+    static final String CACHE_TTL_FIELD = "cacheTtlSeconds";
+
+    private final VendorAuthenticator delegate;
+    private final AuthenticationResultCache resultCache;
+    private final ObjectMapper objectMapper;
+
+    public CachingVendorAuthenticator(VendorAuthenticator delegate,
+                                      AuthenticationResultCache resultCache,
+                                      ObjectMapper objectMapper) {
+        this.delegate = delegate;
+        this.resultCache = resultCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public AuthenticationResponse authenticate(VendorConfig config, AuthenticationRequest request) {
+        return authenticate(compile(config), request);
+    }
+
+    @Override
+    public boolean isConfigurationValid(VendorConfig config) {
+        return delegate.isConfigurationValid(config);
+    }
+
+    @Override
+    public String getRequiredConfigurationDescription() {
+        return delegate.getRequiredConfigurationDescription()
+                + "\nOptional: \"" + CACHE_TTL_FIELD + "\": seconds to reuse a successful authentication"
+                + " for identical credentials";
+    }
+
+    @Override
+    public AuthenticatorProfile compile(VendorConfig config) {
+        return new CachingProfile(delegate.compile(config), cacheTtl(config));
+    }
+
+    @Override
+    public AuthenticationResponse authenticate(AuthenticatorProfile profile, AuthenticationRequest request) {
+        CachingProfile caching = (CachingProfile) profile;
+        String key = resultCache.key(caching.getConfig(), request);
+        return resultCache.get(key, caching.cacheTtl(), () -> delegate.authenticate(caching.delegate(), request));
+    }
+
+    @Override
+    public CompletableFuture<AuthenticationResponse> authenticateAsync(AuthenticatorProfile profile,
+                                                                        AuthenticationRequest request,
+                                                                        Executor executor) {
+        CachingProfile caching = (CachingProfile) profile;
+        String key = resultCache.key(caching.getConfig(), request);
+        return resultCache.getAsync(key, caching.cacheTtl(),
+                () -> delegate.authenticateAsync(caching.delegate(), request, executor));
+    }
+
+    /**
+     * The vendor's {@code cacheTtlSeconds}, or null if unset, not positive or unreadable
+     */
+    private Duration cacheTtl(VendorConfig config) {
+        if (config.getAuthDetailsJson() == null) {
+            return null;
+        }
+        try {
+            JsonNode ttl = objectMapper.readTree(config.getAuthDetailsJson()).path(CACHE_TTL_FIELD);
+            return ttl.canConvertToLong() && ttl.asLong() > 0 ? Duration.ofSeconds(ttl.asLong()) : null;
+        } catch (JsonProcessingException e) {
+            log.debug("Ignoring unreadable {} for vendor: {}", CACHE_TTL_FIELD, config.getVendorId());
+            return null;
+        }
+    }
+
+    private record CachingProfile(AuthenticatorProfile delegate, Duration cacheTtl) implements AuthenticatorProfile {
+
+        @Override
+        public VendorConfig getConfig() {
+            return delegate.getConfig();
+        }
+
+        @Override
+        public Optional<String> getUpstreamUrl() {
+            return delegate.getUpstreamUrl();
+        }
+    }
+}
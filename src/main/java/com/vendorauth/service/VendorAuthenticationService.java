@@ -2,17 +2,26 @@ package com.vendorauth.service;
 
 import com.vendorauth.dto.AuthenticationRequest;
 import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.dto.BatchAuthenticationRequest;
 import com.vendorauth.entity.VendorConfig;
 import com.vendorauth.enums.AuthType;
 import com.vendorauth.exception.AuthenticationException;
 import com.vendorauth.repository.VendorConfigRepository;
+import com.vendorauth.service.AuthenticationMetrics.Phase;
+import com.vendorauth.timing.ServerTiming;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Optional;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Core service for vendor authentication operations.
@@ -24,8 +33,15 @@ import java.util.List;
 @Slf4j
 public class VendorAuthenticationService {
     
+    public static final String SERVICE_BUSY = "SERVICE_BUSY";
+    public static final String VENDOR_TIMEOUT = "VENDOR_TIMEOUT";
+    
     private final VendorConfigRepository vendorConfigRepository;
     private final Map<AuthType, VendorAuthenticator> authenticators;
+    private final AuthenticatorProfileCache profileCache;
+    private final VendorCircuitBreakers circuitBreakers;
+    private final VendorCallExecutor vendorCallExecutor;
+    private final AuthenticationMetrics metrics;
     
     /**
      * Authenticates against a specific vendor using the provided credentials.
@@ -37,71 +53,209 @@ public class VendorAuthenticationService {
      */
     public AuthenticationResponse authenticate(String vendorId, AuthenticationRequest request) {
         log.info("Attempting authentication for vendor: {}", vendorId);
+        long start = System.nanoTime();
+        ServerTiming timing = ServerTiming.current();
+        VendorConfig config = null;
         
         try {
-            // Find vendor configuration
-            Optional<VendorConfig> configOpt = vendorConfigRepository.findByVendorId(vendorId);
-            if (configOpt.isEmpty()) {
-                log.warn("Vendor configuration not found for vendorId: {}", vendorId);
-                return AuthenticationResponse.failure(
-                    vendorId, 
-                    "Vendor configuration not found", 
-                    "VENDOR_NOT_FOUND"
-                );
+            ResolvedVendor resolved = resolve(vendorId);
+            config = resolved.config();
+            if (resolved.failure() != null) {
+                return metrics.recordOutcome(config, resolved.failure(), start);
             }
             
-            VendorConfig config = configOpt.get();
-            
-            // Check if vendor is active
-            if (!config.getActive()) {
-                log.warn("Vendor is inactive: {}", vendorId);
-                return AuthenticationResponse.failure(
-                    vendorId, 
-                    "Vendor is currently inactive", 
-                    "VENDOR_INACTIVE"
-                );
+            // Perform authentication, failing fast while the vendor's circuit breaker is open
+            long callStart = System.nanoTime();
+            AuthenticationResponse response;
+            try {
+                response = circuitBreakers.execute(vendorId,
+                    () -> resolved.authenticator().authenticate(resolved.profile(), request));
+            } finally {
+                metrics.recordPhase(Phase.AUTHENTICATOR, config, callStart);
+                timing.record(ServerTiming.Stage.AUTHN, callStart);
             }
+            return metrics.recordOutcome(config, completed(vendorId, response), start);
             
-            // Get the appropriate authenticator
-            VendorAuthenticator authenticator = authenticators.get(config.getAuthType());
-            if (authenticator == null) {
-                log.error("No authenticator found for auth type: {} (vendor: {})", 
-                         config.getAuthType(), vendorId);
-                return AuthenticationResponse.failure(
-                    vendorId, 
-                    "Authentication type not supported: " + config.getAuthType(), 
-                    "UNSUPPORTED_AUTH_TYPE"
-                );
+        } catch (Exception e) {
+            return metrics.recordOutcome(config, failed(vendorId, e), start);
+        }
+    }
+    
+    /**
+     * Non-blocking variant of {@link #authenticate(String, AuthenticationRequest)}.
+     * The vendor call runs on the vendor call executor; the calling thread only
+     * resolves the (cached) vendor configuration.
+     * 
+     * @param vendorId The unique identifier of the vendor
+     * @param request The authentication request containing credentials
+     * @return Future that always completes normally with the result of the authentication attempt
+     */
+    public CompletableFuture<AuthenticationResponse> authenticateAsync(String vendorId, AuthenticationRequest request) {
+        log.info("Attempting authentication for vendor: {}", vendorId);
+        long start = System.nanoTime();
+        ServerTiming timing = ServerTiming.current();
+        VendorConfig config = null;
+        
+        try {
+            ResolvedVendor resolved = resolve(vendorId);
+            config = resolved.config();
+            if (resolved.failure() != null) {
+                return CompletableFuture.completedFuture(metrics.recordOutcome(config, resolved.failure(), start));
             }
             
-            // Validate configuration
-            if (!authenticator.isConfigurationValid(config)) {
-                log.error("Invalid configuration for vendor: {} (auth type: {})", 
-                         vendorId, config.getAuthType());
-                return AuthenticationResponse.failure(
-                    vendorId, 
-                    "Invalid vendor configuration", 
-                    "INVALID_CONFIG"
-                );
-            }
-            
-            // Perform authentication
-            log.debug("Using {} authenticator for vendor: {}", config.getAuthType(), vendorId);
-            AuthenticationResponse response = authenticator.authenticate(config, request);
-            
-            log.info("Authentication completed for vendor: {} - Success: {}", 
-                    vendorId, response.isSuccess());
-            
-            return response;
+            long callStart = System.nanoTime();
+            return circuitBreakers.executeAsync(vendorId,
+                    () -> resolved.authenticator().authenticateAsync(resolved.profile(), request,
+                        timing.propagate(vendorCallExecutor.executor())))
+                .handle((response, error) -> {
+                    metrics.recordPhase(Phase.AUTHENTICATOR, resolved.config(), callStart);
+                    timing.record(ServerTiming.Stage.AUTHN, callStart);
+                    return metrics.recordOutcome(resolved.config(), error == null
+                        ? completed(vendorId, response)
+                        : failed(vendorId, error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error), start);
+                });
             
         } catch (Exception e) {
-            log.error("Unexpected error during authentication for vendor: {}", vendorId, e);
+            return CompletableFuture.completedFuture(metrics.recordOutcome(config, failed(vendorId, e), start));
+        }
+    }
+    
+    /**
+     * Authenticates against several vendors in parallel. Each item gets its own deadline,
+     * so one slow vendor does not hold up the others; an item that misses it is reported
+     * as a VENDOR_TIMEOUT failure.
+     * 
+     * @param items Vendors and their credentials
+     * @param itemDeadline Maximum time to wait for each item
+     * @return Future completed with one response per item, in request order
+     */
+    public CompletableFuture<List<AuthenticationResponse>> authenticateBatch(
+            List<BatchAuthenticationRequest.Item> items, Duration itemDeadline) {
+        log.info("Attempting batch authentication for {} vendors", items.size());
+        
+        List<CompletableFuture<AuthenticationResponse>> futures = new ArrayList<>(items.size());
+        for (BatchAuthenticationRequest.Item item : items) {
+            String vendorId = item.getVendorId();
+            futures.add(authenticateAsync(vendorId, item.getRequest())
+                .orTimeout(itemDeadline.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    log.warn("Vendor {} did not respond within {} ms in batch", vendorId, itemDeadline.toMillis());
+                    return AuthenticationResponse.failure(
+                        vendorId, 
+                        "Vendor did not respond within " + itemDeadline.toMillis() + " ms", 
+                        VENDOR_TIMEOUT
+                    );
+                }));
+        }
+        
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+    
+    /**
+     * Looks up the vendor, its authenticator and compiled profile, or the failure
+     * response explaining why the vendor cannot be authenticated against.
+     */
+    private ResolvedVendor resolve(String vendorId) {
+        // Find vendor configuration
+        ServerTiming timing = ServerTiming.current();
+        long lookupStart = System.nanoTime();
+        Optional<VendorConfig> configOpt = vendorConfigRepository.findByVendorId(vendorId);
+        metrics.recordPhase(Phase.CONFIG_LOOKUP, configOpt.orElse(null), lookupStart);
+        timing.record(ServerTiming.Stage.DB, lookupStart);
+        if (configOpt.isEmpty()) {
+            log.warn("Vendor configuration not found for vendorId: {}", vendorId);
+            return ResolvedVendor.failed(null, AuthenticationResponse.failure(
+                vendorId, 
+                "Vendor configuration not found", 
+                "VENDOR_NOT_FOUND"
+            ));
+        }
+        
+        VendorConfig config = configOpt.get();
+        
+        // Check if vendor is active
+        if (!config.isActive()) {
+            log.warn("Vendor is inactive: {}", vendorId);
+            return ResolvedVendor.failed(config, AuthenticationResponse.failure(
+                vendorId, 
+                "Vendor is currently inactive", 
+                "VENDOR_INACTIVE"
+            ));
+        }
+        
+        // Get the appropriate authenticator
+        VendorAuthenticator authenticator = authenticators.get(config.getAuthType());
+        if (authenticator == null) {
+            log.error("No authenticator found for auth type: {} (vendor: {})", 
+                     config.getAuthType(), vendorId);
+            return ResolvedVendor.failed(config, AuthenticationResponse.failure(
+                vendorId, 
+                "Authentication type not supported: " + config.getAuthType(), 
+                "UNSUPPORTED_AUTH_TYPE"
+            ));
+        }
+        
+        // Resolve the compiled profile (validates the configuration once per version)
+        long validationStart = System.nanoTime();
+        try {
+            AuthenticatorProfile profile = profileCache.getProfile(authenticator, config);
+            log.debug("Using {} authenticator for vendor: {}", config.getAuthType(), vendorId);
+            return new ResolvedVendor(config, authenticator, profile, null);
+        } catch (AuthenticationException e) {
+            log.error("Invalid configuration for vendor: {} (auth type: {}): {}", 
+                     vendorId, config.getAuthType(), e.getMessage());
+            return ResolvedVendor.failed(config, AuthenticationResponse.failure(
+                vendorId, 
+                "Invalid vendor configuration", 
+                "INVALID_CONFIG"
+            ));
+        } finally {
+            metrics.recordPhase(Phase.VALIDATION, config, validationStart);
+            timing.record(ServerTiming.Stage.VALIDATE, validationStart);
+        }
+    }
+    
+    private AuthenticationResponse completed(String vendorId, AuthenticationResponse response) {
+        log.info("Authentication completed for vendor: {} - Success: {}", 
+                vendorId, response.isSuccess());
+        return response;
+    }
+    
+    private AuthenticationResponse failed(String vendorId, Throwable e) {
+        if (e instanceof AuthenticationException authException
+                && VendorCircuitBreakers.VENDOR_UNAVAILABLE.equals(authException.getErrorCode())) {
+            log.warn("Vendor {} unavailable: {}", vendorId, e.getMessage());
+            return AuthenticationResponse.failure(vendorId, e.getMessage(), authException.getErrorCode());
+        }
+        if (e instanceof RejectedExecutionException) {
+            log.warn("Vendor call rejected for vendor {}: executor saturated", vendorId);
             return AuthenticationResponse.failure(
                 vendorId, 
-                "Internal authentication error: " + e.getMessage(), 
-                "INTERNAL_ERROR"
+                "Too many concurrent vendor calls, try again later", 
+                SERVICE_BUSY
             );
         }
+        log.error("Unexpected error during authentication for vendor: {}", vendorId, e);
+        return AuthenticationResponse.failure(
+            vendorId, 
+            "Internal authentication error: " + e.getMessage(), 
+            "INTERNAL_ERROR"
+        );
+    }
+    
+    /**
+     * Configuration, authenticator and compiled profile for an authenticatable vendor,
+     * or the failure response (with the configuration, if one was found)
+     */
+    private record ResolvedVendor(VendorConfig config,
+                                  VendorAuthenticator authenticator,
+                                  AuthenticatorProfile profile,
+                                  AuthenticationResponse failure) {
+        static ResolvedVendor failed(VendorConfig config, AuthenticationResponse failure) {
+            return new ResolvedVendor(config, null, null, failure);
+        }
     }
     
     /**
@@ -122,10 +276,22 @@ public class VendorAuthenticationService {
      */
     public boolean isVendorActive(String vendorId) {
         return vendorConfigRepository.findByVendorId(vendorId)
-                .map(VendorConfig::getActive)
+                .map(VendorConfig::isActive)
                 .orElse(false);
     }
     
+    /**
+     * Resolves the vendor and compiles its authenticator profile ahead of the first
+     * authentication request, as done during startup warm-up.
+     * 
+     * @param vendorId The unique identifier of the vendor
+     * @return The compiled profile, or empty if the vendor is unknown, inactive or
+     *         misconfigured
+     */
+    public Optional<AuthenticatorProfile> prepareVendor(String vendorId) {
+        return Optional.ofNullable(resolve(vendorId).profile());
+    }
+    
     /**
      * Gets the required configuration description for a specific authentication type.
      * 
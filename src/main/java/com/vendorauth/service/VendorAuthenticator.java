@@ -3,6 +3,10 @@ package com.vendorauth.service;
 import com.vendorauth.dto.AuthenticationRequest;
 import com.vendorauth.dto.AuthenticationResponse;
 import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.exception.AuthenticationException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Core interface for vendor-specific authentication implementations.
@@ -12,6 +16,12 @@ import com.vendorauth.entity.VendorConfig;
  * Each concrete implementation should handle a specific authentication type
  * (OAuth2, API Key, Basic Auth, etc.) and know how to interpret the
  * vendor-specific configuration stored in VendorConfig.authDetailsJson.
+ * 
+ * Configuration is interpreted once per version through {@link #compile(VendorConfig)};
+ * the resulting {@link AuthenticatorProfile} is cached by the caller and passed to
+ * {@link #authenticate(AuthenticatorProfile, AuthenticationRequest)} on each request.
+ * Callers that must not block use
+ * {@link #authenticateAsync(AuthenticatorProfile, AuthenticationRequest, Executor)} instead.
  */
 public interface VendorAuthenticator {
     
@@ -43,4 +53,57 @@ public interface VendorAuthenticator {
      * @return Description of required JSON structure
      */
     String getRequiredConfigurationDescription();
+    
+    /**
+     * Parses and validates the vendor configuration into an immutable profile.
+     * Any configuration error is reported here rather than during authentication.
+     * 
+     * The default implementation validates with {@link #isConfigurationValid(VendorConfig)}
+     * and wraps the raw configuration, for authenticators that have nothing to precompute.
+     * 
+     * @param config The vendor configuration to compile
+     * @return Compiled profile for the given configuration
+     * @throws AuthenticationException if the configuration is invalid
+     */
+    default AuthenticatorProfile compile(VendorConfig config) {
+        if (!isConfigurationValid(config)) {
+            throw new AuthenticationException(
+                config != null ? config.getVendorId() : null,
+                "INVALID_CONFIG",
+                "Invalid vendor configuration"
+            );
+        }
+        return () -> config;
+    }
+    
+    /**
+     * Authenticates against a vendor using a profile previously produced by
+     * {@link #compile(VendorConfig)} on this authenticator.
+     * 
+     * @param profile The compiled vendor profile
+     * @param request The authentication request with credentials/tokens
+     * @return AuthenticationResponse indicating success/failure and any returned tokens
+     */
+    default AuthenticationResponse authenticate(AuthenticatorProfile profile, AuthenticationRequest request) {
+        return authenticate(profile.getConfig(), request);
+    }
+    
+    /**
+     * Non-blocking variant of {@link #authenticate(AuthenticatorProfile, AuthenticationRequest)}.
+     * 
+     * The default implementation adapts the blocking call by running it on the given
+     * executor. Authenticators with a natively asynchronous transport can override this
+     * and complete the future without occupying an executor thread.
+     * 
+     * @param profile The compiled vendor profile
+     * @param request The authentication request with credentials/tokens
+     * @param executor Executor for blocking work
+     * @return Future completed with the response, or exceptionally with the failure
+     * @throws java.util.concurrent.RejectedExecutionException if the executor is saturated
+     */
+    default CompletableFuture<AuthenticationResponse> authenticateAsync(AuthenticatorProfile profile,
+                                                                         AuthenticationRequest request,
+                                                                         Executor executor) {
+        return CompletableFuture.supplyAsync(() -> authenticate(profile, request), executor);
+    }
 }
@@ -0,0 +1,113 @@
+package com.vendorauth.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded executor that runs blocking vendor calls off the servlet threads.
+ *
+ * By default this is a fixed pool of platform threads with a bounded queue; pool size,
+ * queue depth and task timings are published as the {@code executor.*} metrics tagged
+ * {@code name=vendor-calls}.
+ *
+ * With {@code spring.threads.virtual.enabled=true} (Java 21+) each call runs on its own
+ * virtual thread instead, and {@code pool-size + queue-capacity} becomes the limit on
+ * calls in flight, published as {@code vendor.calls.in-flight}.
+ *
+ * In both modes, submissions beyond the limit are rejected with a
+ * RejectedExecutionException rather than queuing without bound.
+ */
+@Component
+@Slf4j
+public class VendorCallExecutor {
+
+    private final Executor executor;
+    private final ExecutorService platformPool;
+
+    public VendorCallExecutor(MeterRegistry meterRegistry,
+                              @Value("${app.vendor-calls.pool-size:64}") int poolSize,
+                              @Value("${app.vendor-calls.queue-capacity:1000}") int queueCapacity,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            int maxInFlight = poolSize + queueCapacity;
+            this.executor = new BoundedVirtualThreadExecutor(maxInFlight, meterRegistry);
+            this.platformPool = null;
+            log.info("Vendor calls run on virtual threads (max in flight: {})", maxInFlight);
+        } else {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                    poolSize, poolSize,
+                    60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    new CustomizableThreadFactory("vendor-call-"),
+                    new ThreadPoolExecutor.AbortPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            this.platformPool = ExecutorServiceMetrics.monitor(meterRegistry, pool, "vendor-calls", Collections.emptyList());
+            this.executor = platformPool;
+        }
+    }
+
+    /**
+     * Executor for vendor calls
+     */
+    public Executor executor() {
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (platformPool != null) {
+            platformPool.shutdown();
+        }
+    }
+
+    /**
+     * Runs each task on a new virtual thread, admitting at most {@code maxInFlight} at once.
+     */
+    private static final class BoundedVirtualThreadExecutor implements Executor {
+
+        private final VirtualThreadTaskExecutor virtualThreads = new VirtualThreadTaskExecutor("vendor-call-");
+        private final Semaphore permits;
+
+        private BoundedVirtualThreadExecutor(int maxInFlight, MeterRegistry meterRegistry) {
+            this.permits = new Semaphore(maxInFlight);
+            Gauge.builder("vendor.calls.in-flight", permits, p -> maxInFlight - p.availablePermits())
+                    .description("Vendor calls currently running on virtual threads")
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (!permits.tryAcquire()) {
+                throw new RejectedExecutionException("Too many vendor calls in flight");
+            }
+            try {
+                virtualThreads.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.vendorauth.service;
+
+import com.vendorauth.exception.AuthenticationException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Per-vendor circuit breakers around outbound authentication calls.
+ * 
+ * Each vendor gets its own breaker over a count-based sliding window. The breaker opens
+ * when either the failure rate or the slow-call rate crosses its threshold, rejects calls
+ * immediately while open, and after the wait duration lets a limited number of probe
+ * calls through (half-open) to decide whether to close again.
+ * 
+ * Only signs of an unhealthy vendor count as failures: connection errors, timeouts,
+ * 5xx and 429 responses. A vendor rejecting bad credentials is a healthy answer.
+ */
+@Component
+@Slf4j
+public class VendorCircuitBreakers {
+
+    public static final String VENDOR_UNAVAILABLE = "VENDOR_UNAVAILABLE";
+
+    private final CircuitBreakerRegistry registry;
+
+    public VendorCircuitBreakers(
+            @Value("${app.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${app.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${app.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${app.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${app.circuit-breaker.slow-call-duration:PT5S}") Duration slowCallDuration,
+            @Value("${app.circuit-breaker.wait-duration-in-open-state:PT30S}") Duration waitDurationInOpenState,
+            @Value("${app.circuit-breaker.permitted-calls-in-half-open-state:1}") int permittedCallsInHalfOpenState) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                .recordException(VendorCircuitBreakers::isVendorFailure)
+                .build();
+        this.registry = CircuitBreakerRegistry.of(config);
+    }
+
+    /**
+     * Run the vendor call through the vendor's breaker.
+     *
+     * @throws AuthenticationException with error code {@value #VENDOR_UNAVAILABLE} if the breaker is open
+     */
+    public <T> T execute(String vendorId, Supplier<T> call) {
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(vendorId);
+        try {
+            return circuitBreaker.executeSupplier(call);
+        } catch (CallNotPermittedException e) {
+            throw new AuthenticationException(vendorId, VENDOR_UNAVAILABLE,
+                "Vendor temporarily unavailable: circuit breaker is " + circuitBreaker.getState());
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #execute(String, Supplier)}; the outcome is recorded
+     * when the returned future completes.
+     *
+     * @return future failed with an AuthenticationException ({@value #VENDOR_UNAVAILABLE})
+     *         if the breaker is open
+     */
+    public <T> CompletableFuture<T> executeAsync(String vendorId, Supplier<CompletableFuture<T>> call) {
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(vendorId);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        circuitBreaker.executeCompletionStage(call::get).whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (cause instanceof CallNotPermittedException) {
+                cause = new AuthenticationException(vendorId, VENDOR_UNAVAILABLE,
+                    "Vendor temporarily unavailable: circuit breaker is " + circuitBreaker.getState());
+            }
+            result.completeExceptionally(cause);
+        });
+        return result;
+    }
+
+    /**
+     * Current breaker state and window metrics per vendor, ordered by vendor ID
+     */
+    public Map<String, BreakerSnapshot> snapshot() {
+        Map<String, BreakerSnapshot> snapshot = new TreeMap<>();
+        for (CircuitBreaker circuitBreaker : registry.getAllCircuitBreakers()) {
+            CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+            snapshot.put(circuitBreaker.getName(), new BreakerSnapshot(
+                    circuitBreaker.getState().name(),
+                    metrics.getFailureRate(),
+                    metrics.getSlowCallRate(),
+                    metrics.getNumberOfBufferedCalls(),
+                    metrics.getNumberOfFailedCalls(),
+                    metrics.getNumberOfSlowCalls(),
+                    metrics.getNumberOfNotPermittedCalls()));
+        }
+        return snapshot;
+    }
+
+    static boolean isVendorFailure(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof ResourceAccessException
+                    || t instanceof HttpServerErrorException
+                    || t instanceof HttpClientErrorException.TooManyRequests
+                    || t instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Point-in-time view of one vendor's breaker. Rates are -1 until the
+     * minimum number of calls has been recorded.
+     */
+    public record BreakerSnapshot(String state,
+                                  float failureRate,
+                                  float slowCallRate,
+                                  int bufferedCalls,
+                                  int failedCalls,
+                                  int slowCalls,
+                                  long notPermittedCalls) {
+    }
+}
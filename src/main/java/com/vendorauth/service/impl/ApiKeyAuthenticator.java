@@ -7,17 +7,24 @@ import com.vendorauth.dto.AuthenticationResponse;
 import com.vendorauth.entity.VendorConfig;
 import com.vendorauth.enums.AuthType;
 import com.vendorauth.exception.AuthenticationException;
+import com.vendorauth.repository.VendorApiKeyRepository;
+import com.vendorauth.service.AuthenticatorProfile;
 import com.vendorauth.service.VendorAuthenticator;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+
 /**
  * API Key-based authenticator implementation.
- * 
+ *
  * This authenticator handles vendors that use API key authentication.
- * The API key can be sent via header or query parameter.
- * 
+ * The API key can be sent via header or query parameter. Keys are validated against the
+ * vendor's keys in {@link VendorApiKeyRepository}, an in-memory index, without network I/O.
+ *
  * Expected authDetailsJson format:
  * {
  *   "apiKeyHeader": "X-API-Key",           // Header name for API key
@@ -29,84 +36,95 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 @Slf4j
 public class ApiKeyAuthenticator implements VendorAuthenticator {
-    
+
     private final ObjectMapper objectMapper;
-    
+    private final VendorApiKeyRepository apiKeyRepository;
+
     @Override
     public AuthenticationResponse authenticate(VendorConfig config, AuthenticationRequest request) {
-        log.info("ApiKeyAuthenticator: Authenticating for vendor: {}", config.getVendorId());
-        
-        try {
-            // Parse vendor configuration
-            JsonNode authDetails = objectMapper.readTree(config.getAuthDetailsJson());
-            // Note: authMethod could be used for different API key transmission methods
-            String authMethod = authDetails.path("authMethod").asText("header");
-            
-            // Validate that API key is provided in the request
-            if (request.getToken() == null || request.getToken().trim().isEmpty()) {
-                return AuthenticationResponse.failure(
-                    config.getVendorId(),
-                    "API key is required but not provided",
-                    "MISSING_API_KEY"
-                );
-            }
-            
-            // TODO: In a real implementation, you would:
-            // 1. Make HTTP request to vendor's API with the API key
-            // 2. Validate the response
-            // 3. Return appropriate success/failure response
-            
-            // For now, simulate API key validation
-            if (isValidApiKey(request.getToken(), config)) {
-                return AuthenticationResponse.builder()
-                        .success(true)
-                        .vendorId(config.getVendorId())
-                        .message("API key authentication successful")
-                        .accessToken(request.getToken()) // Echo back the API key
-                        .timestamp(LocalDateTime.now())
-                        .build();
-            } else {
-                return AuthenticationResponse.failure(
-                    config.getVendorId(),
-                    "Invalid API key",
-                    "INVALID_API_KEY"
-                );
-            }
-            
-        } catch (Exception e) {
-            log.error("Error during API key authentication for vendor: {}", config.getVendorId(), e);
-            throw new AuthenticationException(
-                config.getVendorId(),
-                "API_KEY_AUTH_ERROR",
-                "Failed to authenticate with API key: " + e.getMessage(),
-                e
+        return authenticate(compile(config), request);
+    }
+
+    @Override
+    public AuthenticationResponse authenticate(AuthenticatorProfile profile, AuthenticationRequest request) {
+        ApiKeyProfile apiKeyProfile = (ApiKeyProfile) profile;
+        log.info("ApiKeyAuthenticator: Authenticating for vendor: {}", apiKeyProfile.getVendorId());
+
+        // Validate that API key is provided in the request
+        if (request.getToken() == null || request.getToken().trim().isEmpty()) {
+            return AuthenticationResponse.failure(
+                apiKeyProfile.getVendorId(),
+                "API key is required but not provided",
+                "MISSING_API_KEY"
+            );
+        }
+
+        if (isValidApiKey(request.getToken(), apiKeyProfile)) {
+            return AuthenticationResponse.builder()
+                    .success(true)
+                    .vendorId(apiKeyProfile.getVendorId())
+                    .message("API key authentication successful")
+                    .accessToken(request.getToken()) // Echo back the API key
+                    .timestamp(LocalDateTime.now())
+                    .build();
+        } else {
+            return AuthenticationResponse.failure(
+                apiKeyProfile.getVendorId(),
+                "Invalid API key",
+                "INVALID_API_KEY"
             );
         }
     }
-    
+
     @Override
-    public boolean isConfigurationValid(VendorConfig config) {
+    public AuthenticatorProfile compile(VendorConfig config) {
         if (config == null || config.getAuthType() != AuthType.API_KEY) {
-            return false;
+            throw new AuthenticationException(
+                config != null ? config.getVendorId() : null,
+                "API_KEY_INVALID_CONFIG",
+                "Invalid API key configuration"
+            );
         }
-        
+
+        JsonNode authDetails;
         try {
-            JsonNode authDetails = objectMapper.readTree(config.getAuthDetailsJson());
-            
-            // Check that either header or query param is specified
-            boolean hasHeader = authDetails.has("apiKeyHeader") && 
-                               !authDetails.path("apiKeyHeader").asText().isEmpty();
-            boolean hasQueryParam = authDetails.has("apiKeyQueryParam") && 
-                                   !authDetails.path("apiKeyQueryParam").asText().isEmpty();
-            
-            return hasHeader || hasQueryParam;
-            
+            authDetails = objectMapper.readTree(config.getAuthDetailsJson());
         } catch (Exception e) {
+            throw new AuthenticationException(config.getVendorId(), "API_KEY_INVALID_JSON",
+                "Invalid API key configuration JSON", e);
+        }
+        if (authDetails == null) {
+            throw new AuthenticationException(config.getVendorId(), "API_KEY_INVALID_CONFIG",
+                "Missing API key configuration");
+        }
+
+        // Check that either header or query param is specified
+        String apiKeyHeader = authDetails.path("apiKeyHeader").asText("");
+        String apiKeyQueryParam = authDetails.path("apiKeyQueryParam").asText("");
+        if (apiKeyHeader.isEmpty() && apiKeyQueryParam.isEmpty()) {
+            throw new AuthenticationException(config.getVendorId(), "API_KEY_MISSING_LOCATION",
+                "Either 'apiKeyHeader' or 'apiKeyQueryParam' must be specified");
+        }
+
+        // Note: authMethod could be used for different API key transmission methods
+        String authMethod = authDetails.path("authMethod").asText("header");
+
+        return new ApiKeyProfile(config, authMethod,
+            apiKeyHeader.isEmpty() ? null : apiKeyHeader,
+            apiKeyQueryParam.isEmpty() ? null : apiKeyQueryParam);
+    }
+
+    @Override
+    public boolean isConfigurationValid(VendorConfig config) {
+        try {
+            compile(config);
+            return true;
+        } catch (AuthenticationException e) {
             log.error("Invalid configuration for API key authenticator: {}", e.getMessage());
             return false;
         }
     }
-    
+
     @Override
     public String getRequiredConfigurationDescription() {
         return "API Key authenticator requires JSON configuration with:\n" +
@@ -117,14 +135,23 @@ public class ApiKeyAuthenticator implements VendorAuthenticator {
                "}\n" +
                "At least one of apiKeyHeader or apiKeyQueryParam must be specified.";
     }
-    
+
+    /**
+     * Checks the key against the vendor's active, unexpired keys in the local key store
+     */
+    private boolean isValidApiKey(String apiKey, ApiKeyProfile profile) {
+        return apiKeyRepository.isValid(profile.getVendorId(), apiKey);
+    }
+
     /**
-     * Simulates API key validation.
-     * In a real implementation, this would make an HTTP request to the vendor's API.
+     * Compiled API key configuration for a single vendor.
      */
-    private boolean isValidApiKey(String apiKey, VendorConfig config) {
-        // Simple validation for demonstration
-        // In reality, you would call the vendor's API to validate the key
-        return apiKey.length() >= 10 && !apiKey.equals("invalid_key");
+    @Value
+    static class ApiKeyProfile implements AuthenticatorProfile {
+        @ToString.Exclude
+        VendorConfig config;
+        String authMethod;
+        String apiKeyHeader;
+        String apiKeyQueryParam;
     }
 }
@@ -6,80 +6,97 @@ import com.vendorauth.dto.AuthenticationRequest;
 import com.vendorauth.dto.AuthenticationResponse;
 import com.vendorauth.entity.VendorConfig;
 import com.vendorauth.exception.AuthenticationException;
+import com.vendorauth.http.VendorHttpClient;
+import com.vendorauth.http.VendorRetryPolicy;
+import com.vendorauth.service.AuthenticatorProfile;
 import com.vendorauth.service.VendorAuthenticator;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Optional;
 
 /**
  * Basic Authentication implementation of VendorAuthenticator.
  * Handles HTTP Basic Authentication with external services.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class BasicAuthAuthenticator implements VendorAuthenticator {
-    
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final VendorHttpClient httpClient;
+    private final VendorRetryPolicy retryPolicy;
+    private final ObjectMapper objectMapper;
 
     @Override
     public AuthenticationResponse authenticate(VendorConfig config, AuthenticationRequest request) {
-        validateConfig(config);
-        JsonNode authDetails;
-        try {
-            authDetails = objectMapper.readTree(config.getAuthDetailsJson());
-        } catch (Exception e) {
-            throw new AuthenticationException("Invalid Basic Auth configuration JSON", "BASIC_AUTH_INVALID_JSON", e);
-        }
-        
+        return authenticate(compile(config), request);
+    }
+
+    @Override
+    public AuthenticationResponse authenticate(AuthenticatorProfile profile, AuthenticationRequest request) {
+        BasicAuthProfile basicProfile = (BasicAuthProfile) profile;
+
         try {
-            String username = request.getUsername() != null ? 
-                request.getUsername() : authDetails.path("username").asText();
-                
-            String password = request.getPassword() != null ? 
-                request.getPassword() : authDetails.path("password").asText();
-            
-            String authUrl = authDetails.path("authUrl").asText();
-            
             // Create headers with Basic Auth
-            HttpHeaders headers = createBasicAuthHeaders(username, password);
-            
-            // Make the request
+            HttpHeaders headers = createBasicAuthHeaders(resolveAuthorizationHeader(basicProfile, request));
+
+            // Make the request; a GET validation call is safe to repeat
             HttpEntity<String> entity = new HttpEntity<>(headers);
-            var response = restTemplate.exchange(
-                authUrl,
-                HttpMethod.GET,
-                entity,
-                String.class
-            );
-            
+            var response = retryPolicy.execute(basicProfile.getConfig(), true, () ->
+                httpClient.restTemplate(basicProfile.getConfig()).exchange(
+                    basicProfile.getAuthUrl(),
+                    HttpMethod.GET,
+                    entity,
+                    String.class
+                ));
+
             if (response.getStatusCode().is2xxSuccessful()) {
                 return AuthenticationResponse.builder()
                     .success(true)
+                    .vendorId(basicProfile.getVendorId())
                     .message("Basic authentication successful")
                     .build();
             }
-            
-            throw new AuthenticationException("Basic authentication failed: " + response.getStatusCode(), 
-                "BASIC_AUTH_FAILED");
-            
+
+            throw new AuthenticationException(basicProfile.getVendorId(), "BASIC_AUTH_FAILED",
+                "Basic authentication failed: " + response.getStatusCode());
+
+        } catch (AuthenticationException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Basic authentication error", e);
-            throw new AuthenticationException("Basic authentication failed: " + e.getMessage(), 
-                "BASIC_AUTH_ERROR", e);
+            throw new AuthenticationException(basicProfile.getVendorId(), "BASIC_AUTH_ERROR",
+                "Basic authentication failed: " + e.getMessage(), e);
         }
     }
-    
-    private HttpHeaders createBasicAuthHeaders(String username, String password) {
+
+    /**
+     * Uses the precomputed header when the request carries no credentials of its own;
+     * request-supplied username/password take precedence over the configured ones.
+     */
+    private String resolveAuthorizationHeader(BasicAuthProfile profile, AuthenticationRequest request) {
+        if (request.getUsername() == null && request.getPassword() == null
+                && profile.getConfigAuthorizationHeader() != null) {
+            return profile.getConfigAuthorizationHeader();
+        }
+        String username = request.getUsername() != null ? request.getUsername() : profile.getUsername();
+        String password = request.getPassword() != null ? request.getPassword() : profile.getPassword();
+        return encodeBasicAuth(username, password);
+    }
+
+    private static String encodeBasicAuth(String username, String password) {
         String auth = username + ":" + password;
-        String authHeader = "Basic " + Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8));
-        
+        return "Basic " + Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HttpHeaders createBasicAuthHeaders(String authHeader) {
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", authHeader);
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -89,41 +106,54 @@ public class BasicAuthAuthenticator implements VendorAuthenticator {
     @Override
     public boolean isConfigurationValid(VendorConfig config) {
         try {
-            validateConfig(config);
+            compile(config);
             return true;
         } catch (AuthenticationException e) {
             return false;
         }
     }
 
-    private void validateConfig(VendorConfig config) {
+    @Override
+    public AuthenticatorProfile compile(VendorConfig config) {
         if (config == null || config.getAuthDetailsJson() == null) {
-            throw new AuthenticationException("Invalid Basic Auth configuration", "BASIC_AUTH_INVALID_CONFIG");
+            throw new AuthenticationException(config != null ? config.getVendorId() : null,
+                "BASIC_AUTH_INVALID_CONFIG", "Invalid Basic Auth configuration");
         }
-        
+        String vendorId = config.getVendorId();
+
         JsonNode authDetails;
         try {
             authDetails = objectMapper.readTree(config.getAuthDetailsJson());
         } catch (Exception e) {
-            throw new AuthenticationException("Invalid Basic Auth configuration JSON", "BASIC_AUTH_INVALID_JSON", e);
+            throw new AuthenticationException(vendorId, "BASIC_AUTH_INVALID_JSON",
+                "Invalid Basic Auth configuration JSON", e);
         }
-        
+
         // Either credentials must be in config, or they must be provided in the request
         boolean hasConfigCredentials = authDetails.has("username") && authDetails.has("password");
-        boolean requiresRequestCredentials = authDetails.has("authUrl") && 
+        boolean requiresRequestCredentials = authDetails.has("authUrl") &&
                                            !authDetails.path("requireConfigCredentials").asBoolean(true);
-        
+
         if (!hasConfigCredentials && !requiresRequestCredentials) {
-            throw new AuthenticationException(
-                "Basic Auth requires either username/password in config or in request", 
-                "BASIC_AUTH_MISSING_CREDENTIALS");
+            throw new AuthenticationException(vendorId, "BASIC_AUTH_MISSING_CREDENTIALS",
+                "Basic Auth requires either username/password in config or in request");
         }
-        
+
         if (!authDetails.has("authUrl")) {
-            throw new AuthenticationException(
-                "Missing 'authUrl' in Basic Auth configuration", 
-                "BASIC_AUTH_MISSING_AUTH_URL");
+            throw new AuthenticationException(vendorId, "BASIC_AUTH_MISSING_AUTH_URL",
+                "Missing 'authUrl' in Basic Auth configuration");
         }
+
+        String username = hasConfigCredentials ? authDetails.path("username").asText() : null;
+        String password = hasConfigCredentials ? authDetails.path("password").asText() : null;
+
+        return new BasicAuthProfile(
+            config,
+            authDetails.path("authUrl").asText(),
+            username,
+            password,
+            hasConfigCredentials ? encodeBasicAuth(username, password) : null
+        );
     }
 
     @Override
@@ -136,9 +166,30 @@ public class BasicAuthAuthenticator implements VendorAuthenticator {
               "password": "optional-password",  // Can be provided in request instead
               "requireConfigCredentials": true  // Whether username/password must be in config
             }
-            
-            Note: Either provide username/password in the config OR set requireConfigCredentials 
+
+            Note: Either provide username/password in the config OR set requireConfigCredentials
             to false and provide them in each authentication request.
             """;
     }
+
+    /**
+     * Compiled Basic Auth configuration for a single vendor, including the
+     * pre-encoded Authorization header for the configured credentials.
+     */
+    @Value
+    static class BasicAuthProfile implements AuthenticatorProfile {
+        @ToString.Exclude
+        VendorConfig config;
+        String authUrl;
+        String username;
+        @ToString.Exclude
+        String password;
+        @ToString.Exclude
+        String configAuthorizationHeader;
+
+        @Override
+        public Optional<String> getUpstreamUrl() {
+            return Optional.of(authUrl);
+        }
+    }
 }
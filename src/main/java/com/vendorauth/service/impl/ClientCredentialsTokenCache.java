@@ -0,0 +1,125 @@
+package com.vendorauth.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.enums.AuthType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Cache of OAuth2 client_credentials token responses, keyed by vendor, client and scope.
+ * The key includes the vendor configuration's version ({@code updatedAt}) and auth type, so
+ * a changed client secret or token URL is never served a token obtained with the old one.
+ * 
+ * A token is reused until its reported expiry minus a configurable skew; responses without
+ * an expiry are never cached. Concurrent misses for the same key are collapsed into a single
+ * upstream request whose result (or failure) is shared by all waiting callers. Failures are
+ * not cached.
+ */
+@Component
+public class ClientCredentialsTokenCache {
+
+    private final AsyncCache<Key, AuthenticationResponse> cache;
+    private final Duration expirySkew;
+
+    public ClientCredentialsTokenCache(MeterRegistry meterRegistry,
+                                       @Value("${app.oauth2.token-cache.expiry-skew:PT30S}") Duration expirySkew,
+                                       @Value("${app.oauth2.token-cache.maximum-size:1000}") long maximumSize) {
+        this.expirySkew = expirySkew;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "oauth2.client-credentials");
+    }
+
+    /**
+     * Returns the cached token response for the key, or obtains one with the fetcher.
+     * Only one fetch per key is in flight at a time; it runs on the calling thread of
+     * the first caller to miss.
+     */
+    public AuthenticationResponse getToken(VendorConfig config, String clientId, String scope,
+                                           Supplier<AuthenticationResponse> fetcher) {
+        Key key = new Key(config.getVendorId(), config.getAuthType(), config.getUpdatedAt(), clientId, scope);
+        CompletableFuture<AuthenticationResponse> loader = new CompletableFuture<>();
+        CompletableFuture<AuthenticationResponse> future = cache.get(key, (k, executor) -> loader);
+        if (future == loader) {
+            try {
+                loader.complete(fetcher.get());
+            } catch (Throwable t) {
+                // Errors too: an uncompleted loader would block every later caller for the key.
+                // Failed futures are dropped from the cache automatically
+                loader.completeExceptionally(t);
+            }
+        }
+        try {
+            return copyOf(future.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Each caller gets its own response instance; the shared one stays untouched.
+     */
+    private static AuthenticationResponse copyOf(AuthenticationResponse response) {
+        return AuthenticationResponse.builder()
+                .success(response.isSuccess())
+                .message(response.getMessage())
+                .errorCode(response.getErrorCode())
+                .vendorId(response.getVendorId())
+                .timestamp(response.getTimestamp())
+                .accessToken(response.getAccessToken())
+                .refreshToken(response.getRefreshToken())
+                .tokenExpiry(response.getTokenExpiry())
+                .additionalData(response.getAdditionalData())
+                .build();
+    }
+
+    private record Key(String vendorId, AuthType authType, LocalDateTime version, String clientId, String scope) {
+    }
+
+    /**
+     * Expires each token {@code expirySkew} before the vendor says it does.
+     */
+    private final class TokenExpiry implements Expiry<Key, AuthenticationResponse> {
+
+        @Override
+        public long expireAfterCreate(Key key, AuthenticationResponse response, long currentTime) {
+            LocalDateTime tokenExpiry = response.getTokenExpiry();
+            if (tokenExpiry == null) {
+                return 0;
+            }
+            Duration remaining = Duration.between(LocalDateTime.now(), tokenExpiry).minus(expirySkew);
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, AuthenticationResponse response, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, response, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, AuthenticationResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -7,33 +7,32 @@ import com.vendorauth.dto.AuthenticationResponse;
 import com.vendorauth.entity.VendorConfig;
 import com.vendorauth.enums.AuthType;
 import com.vendorauth.exception.AuthenticationException;
+import com.vendorauth.service.AuthenticatorProfile;
 import com.vendorauth.service.VendorAuthenticator;
+import com.vendorauth.timing.ServerTiming;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
-import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.JwtParserBuilder;
 import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * JWT Token-based authenticator implementation.
@@ -62,66 +61,62 @@ public class JwtTokenAuthenticator implements VendorAuthenticator {
     
     @Override
     public AuthenticationResponse authenticate(VendorConfig config, AuthenticationRequest request) {
-        log.info("JwtTokenAuthenticator: Authenticating for vendor: {}", config.getVendorId());
+        return authenticate(compile(config), request);
+    }
+    
+    @Override
+    public AuthenticationResponse authenticate(AuthenticatorProfile profile, AuthenticationRequest request) {
+        JwtProfile jwtProfile = (JwtProfile) profile;
+        String vendorId = jwtProfile.getVendorId();
+        log.info("JwtTokenAuthenticator: Authenticating for vendor: {}", vendorId);
         
         try {
-            // Parse vendor configuration
-            JsonNode authDetails = objectMapper.readTree(config.getAuthDetailsJson());
-            
             // Validate that JWT token is provided in the request
             if (request.getToken() == null || request.getToken().trim().isEmpty()) {
                 return AuthenticationResponse.failure(
-                    config.getVendorId(),
+                    vendorId,
                     "JWT token is required but not provided",
                     "MISSING_JWT_TOKEN"
                 );
             }
             
             // Validate JWT token
-            Claims claims = validateJwtToken(request.getToken(), authDetails, config.getVendorId());
+            Claims claims = validateJwtToken(request.getToken(), jwtProfile);
             
-            if (claims != null) {
-                // Token is valid, create success response
-                return AuthenticationResponse.builder()
-                        .success(true)
-                        .vendorId(config.getVendorId())
-                        .message("JWT token authentication successful")
-                        .accessToken(request.getToken())
-                        .tokenExpiry(getTokenExpiry(claims))
-                        .build();
-            } else {
-                return AuthenticationResponse.failure(
-                    config.getVendorId(),
-                    "Invalid or expired JWT token",
-                    "INVALID_JWT_TOKEN"
-                );
-            }
+            // Token is valid, create success response
+            return AuthenticationResponse.builder()
+                    .success(true)
+                    .vendorId(vendorId)
+                    .message("JWT token authentication successful")
+                    .accessToken(request.getToken())
+                    .tokenExpiry(getTokenExpiry(claims))
+                    .build();
             
         } catch (ExpiredJwtException e) {
-            log.warn("Expired JWT token for vendor: {}", config.getVendorId());
+            log.warn("Expired JWT token for vendor: {}", vendorId);
             return AuthenticationResponse.failure(
-                config.getVendorId(),
+                vendorId,
                 "JWT token has expired",
                 "EXPIRED_JWT_TOKEN"
             );
         } catch (MalformedJwtException e) {
-            log.warn("Malformed JWT token for vendor: {}", config.getVendorId());
+            log.warn("Malformed JWT token for vendor: {}", vendorId);
             return AuthenticationResponse.failure(
-                config.getVendorId(),
+                vendorId,
                 "Malformed JWT token",
                 "MALFORMED_JWT_TOKEN"
             );
         } catch (SignatureException e) {
-            log.warn("Invalid JWT signature for vendor: {}", config.getVendorId());
+            log.warn("Invalid JWT signature for vendor: {}", vendorId);
             return AuthenticationResponse.failure(
-                config.getVendorId(),
+                vendorId,
                 "Invalid JWT token signature",
                 "INVALID_JWT_SIGNATURE"
             );
         } catch (Exception e) {
-            log.error("Error during JWT authentication for vendor: {}", config.getVendorId(), e);
+            log.error("Error during JWT authentication for vendor: {}", vendorId, e);
             throw new AuthenticationException(
-                config.getVendorId(),
+                vendorId,
                 "JWT_AUTH_ERROR",
                 "Failed to authenticate with JWT token: " + e.getMessage(),
                 e
@@ -130,27 +125,67 @@ public class JwtTokenAuthenticator implements VendorAuthenticator {
     }
     
     @Override
-    public boolean isConfigurationValid(VendorConfig config) {
+    public AuthenticatorProfile compile(VendorConfig config) {
         if (config == null || config.getAuthType() != AuthType.CUSTOM) {
-            return false;
+            throw new AuthenticationException(
+                config != null ? config.getVendorId() : null,
+                "JWT_INVALID_CONFIG",
+                "Invalid JWT configuration"
+            );
         }
+        String vendorId = config.getVendorId();
         
+        JsonNode authDetails;
         try {
-            JsonNode authDetails = objectMapper.readTree(config.getAuthDetailsJson());
-            
-            // Check that required fields are present
-            boolean hasSecretKey = authDetails.has("secretKey") && 
-                                  !authDetails.path("secretKey").asText().isEmpty();
-            
-            // Secret key must be at least 32 characters for HS256
-            if (hasSecretKey) {
-                String secretKey = authDetails.path("secretKey").asText();
-                return secretKey.length() >= 32;
-            }
-            
-            return false;
-            
+            authDetails = objectMapper.readTree(config.getAuthDetailsJson());
         } catch (Exception e) {
+            throw new AuthenticationException(vendorId, "JWT_INVALID_JSON", "Invalid JWT configuration JSON", e);
+        }
+        if (authDetails == null) {
+            throw new AuthenticationException(vendorId, "JWT_INVALID_CONFIG", "Missing JWT configuration");
+        }
+        
+        // Secret key must be at least 32 characters for HS256
+        String secretKey = authDetails.path("secretKey").asText("");
+        if (secretKey.length() < 32) {
+            throw new AuthenticationException(vendorId, "JWT_INVALID_SECRET",
+                "'secretKey' is required and must be at least 32 characters long");
+        }
+        
+        String algorithm = authDetails.path("algorithm").asText("HS256");
+        boolean validateIssuer = authDetails.path("validateIssuer").asBoolean(false);
+        boolean validateAudience = authDetails.path("validateAudience").asBoolean(false);
+        String issuer = authDetails.path("issuer").asText("");
+        String audience = authDetails.path("audience").asText("");
+        int expirationMinutes = authDetails.path("expirationMinutes").asInt(60);
+        
+        SecretKey key = getSigningKey(vendorId, secretKey, algorithm);
+        
+        // Build JWT parser (JJWT 0.12.x API); parsers are immutable and thread-safe
+        JwtParserBuilder parserBuilder = Jwts.parser()
+                .verifyWith(key);
+        
+        // Add validation rules based on configuration
+        if (validateIssuer && authDetails.has("issuer")) {
+            parserBuilder.requireIssuer(issuer);
+        }
+        
+        if (validateAudience && authDetails.has("audience")) {
+            parserBuilder.requireAudience(audience);
+        }
+        
+        return new JwtProfile(config, key, parserBuilder.build(),
+            issuer.isEmpty() ? null : issuer,
+            audience.isEmpty() ? null : audience,
+            expirationMinutes);
+    }
+    
+    @Override
+    public boolean isConfigurationValid(VendorConfig config) {
+        try {
+            compile(config);
+            return true;
+        } catch (AuthenticationException e) {
             log.error("Invalid configuration for JWT authenticator: {}", e.getMessage());
             return false;
         }
@@ -173,98 +208,43 @@ public class JwtTokenAuthenticator implements VendorAuthenticator {
     }
     
     /**
-     * Validates a JWT token using the vendor configuration.
+     * Validates a JWT token using the vendor's compiled parser.
      * 
      * @param token The JWT token to validate
-     * @param authDetails The vendor's authentication configuration
-     * @param vendorId The vendor ID for logging
-     * @return Claims if token is valid, null otherwise
+     * @param profile The vendor's compiled JWT profile
+     * @return Claims of the valid token
      */
-    private Claims validateJwtToken(String token, JsonNode authDetails, String vendorId) {
+    private Claims validateJwtToken(String token, JwtProfile profile) {
+        long start = System.nanoTime();
         try {
-            String secretKey = authDetails.path("secretKey").asText();
-            String algorithm = authDetails.path("algorithm").asText("HS256");
-            boolean validateExpiration = authDetails.path("validateExpiration").asBoolean(true);
-            boolean validateIssuer = authDetails.path("validateIssuer").asBoolean(false);
-            boolean validateAudience = authDetails.path("validateAudience").asBoolean(false);
-            
-            // Create secret key
-            SecretKey key = getSigningKey(secretKey, algorithm);
-            
-            // Build JWT parser (JJWT 0.12.x API)
-            JwtParserBuilder parserBuilder = Jwts.parser()
-                    .verifyWith(key);
-            
-            // Add validation rules based on configuration
-            if (validateIssuer && authDetails.has("issuer")) {
-                parserBuilder.requireIssuer(authDetails.path("issuer").asText());
-            }
-            
-            if (validateAudience && authDetails.has("audience")) {
-                parserBuilder.requireAudience(authDetails.path("audience").asText());
-            }
-            
-            JwtParser parser = parserBuilder.build();
-            
-            // Parse and validate token
-            Jws<Claims> jws = parser.parseSignedClaims(token);
+            // Parse and validate token (signature, expiration and required claims)
+            Jws<Claims> jws = profile.getParser().parseSignedClaims(token);
             Claims claims = jws.getPayload();
             
-            // Manual expiration check if needed
-            if (validateExpiration && claims.getExpiration() != null) {
-                if (claims.getExpiration().before(new Date())) {
-                    throw new ExpiredJwtException(null, claims, "Token has expired");
-                }
-            }
-            
-            log.debug("JWT token validated successfully for vendor: {}", vendorId);
+            log.debug("JWT token validated successfully for vendor: {}", profile.getVendorId());
             return claims;
             
         } catch (Exception e) {
-            log.warn("JWT token validation failed for vendor: {} - {}", vendorId, e.getMessage());
+            log.warn("JWT token validation failed for vendor: {} - {}", profile.getVendorId(), e.getMessage());
             throw e; // Re-throw to be handled by the calling method
+        } finally {
+            ServerTiming.current().record(ServerTiming.Stage.VERIFY, start);
         }
     }
     
-    private Jws<Claims> parseToken(String token, String secretKey, String algorithm) {
-        try {
-            // Get the signing key
-            Key key = getSigningKey(secretKey, algorithm);
-            
-            // Parse the token with the key (JJWT 0.12.x API)
-            return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token);
-                
-        } catch (ExpiredJwtException e) {
-            log.warn("JWT token expired: {}", e.getMessage());
-            throw new AuthenticationException("Token has expired", "JWT_TOKEN_EXPIRED", e);
-        } catch (MalformedJwtException | SecurityException e) {
-            log.warn("Invalid JWT token: {}", e.getMessage());
-            throw new AuthenticationException("Invalid token format", "JWT_TOKEN_INVALID", e);
-        } catch (SignatureException e) {
-            log.warn("Invalid JWT signature: {}", e.getMessage());
-            throw new AuthenticationException("Invalid token signature", "JWT_SIGNATURE_INVALID", e);
-        } catch (JwtException | IllegalArgumentException e) {
-            log.warn("Error parsing JWT token: {}", e.getMessage());
-            throw new AuthenticationException("Error processing token", "JWT_PROCESSING_ERROR", e);
+    private SecretKey getSigningKey(String vendorId, String secretKey, String algorithm) {
+        // For HMAC algorithms, use the secret key directly
+        if (!algorithm.startsWith("HS")) {
+            throw new AuthenticationException(vendorId, "JWT_UNSUPPORTED_ALGORITHM",
+                "Unsupported algorithm: " + algorithm);
         }
-    }
-    
-    private SecretKey getSigningKey(String secretKey, String algorithm) {
         try {
-            // For HMAC algorithms, use the secret key directly
-            if (algorithm.startsWith("HS")) {
-                byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-                return Keys.hmacShaKeyFor(keyBytes);
-            } 
-            // Handle other key types if needed
-            throw new UnsupportedOperationException("Unsupported algorithm: " + algorithm);
+            byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
+            return Keys.hmacShaKeyFor(keyBytes);
         } catch (Exception e) {
-            log.error("Error creating signing key", e);
-            throw new AuthenticationException("Error creating signing key: " + e.getMessage(), 
-                "JWT_KEY_ERROR", e);
+            log.error("Error creating signing key for vendor: {}", vendorId, e);
+            throw new AuthenticationException(vendorId, "JWT_KEY_ERROR",
+                "Error creating signing key: " + e.getMessage(), e);
         }
     }
     
@@ -287,43 +267,31 @@ public class JwtTokenAuthenticator implements VendorAuthenticator {
      * Generates a new JWT token (utility method for future use).
      * This could be used if the service needs to generate tokens for vendors.
      * 
-     * @param authDetails Vendor configuration
+     * @param profile Compiled vendor profile
      * @param subject Token subject
      * @return Generated JWT token
      */
-    public String generateJwtToken(JsonNode authDetails, String subject) {
-        String secretKey = authDetails.path("secretKey").asText();
-        String issuer = authDetails.path("issuer").asText();
-        String audience = authDetails.path("audience").asText();
-        int expirationMinutes = authDetails.path("expirationMinutes").asInt(60);
-        
-        return generateToken(subject, secretKey, "HS256", expirationMinutes, issuer, audience);
-    }
-    
-    private String generateToken(String subject, String secretKey, String algorithm, long expirationMinutes, 
-                               String issuer, String audience) {
+    public String generateJwtToken(AuthenticatorProfile profile, String subject) {
+        JwtProfile jwtProfile = (JwtProfile) profile;
         try {
-            // Get the signing key
-            Key key = getSigningKey(secretKey, algorithm);
-            
             // Create the JWT token
             Instant now = Instant.now();
-            Instant expiration = now.plus(expirationMinutes, ChronoUnit.MINUTES);
+            Instant expiration = now.plus(jwtProfile.getExpirationMinutes(), ChronoUnit.MINUTES);
             
             // Create the JWT builder
             JwtBuilder builder = Jwts.builder()
-                .setSubject(subject)
-                .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(expiration))
-                .signWith(key);
+                .subject(subject)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(expiration))
+                .signWith(jwtProfile.getKey());
                 
             // Add optional claims
-            if (issuer != null && !issuer.trim().isEmpty()) {
-                builder.setIssuer(issuer);
+            if (jwtProfile.getIssuer() != null) {
+                builder.issuer(jwtProfile.getIssuer());
             }
             
-            if (audience != null && !audience.trim().isEmpty()) {
-                builder.setAudience(audience);
+            if (jwtProfile.getAudience() != null) {
+                builder.audience().add(jwtProfile.getAudience());
             }
             
             // Build the token
@@ -331,8 +299,25 @@ public class JwtTokenAuthenticator implements VendorAuthenticator {
             
         } catch (Exception e) {
             log.error("Error generating JWT token", e);
-            throw new AuthenticationException("Error generating token: " + e.getMessage(), 
-                "JWT_TOKEN_GENERATION_ERROR", e);
+            throw new AuthenticationException(jwtProfile.getVendorId(), "JWT_TOKEN_GENERATION_ERROR",
+                "Error generating token: " + e.getMessage(), e);
         }
     }
+    
+    /**
+     * Compiled JWT configuration for a single vendor: the HMAC key and a
+     * parser preconfigured with the vendor's issuer/audience requirements.
+     */
+    @Value
+    static class JwtProfile implements AuthenticatorProfile {
+        @ToString.Exclude
+        VendorConfig config;
+        @ToString.Exclude
+        SecretKey key;
+        @ToString.Exclude
+        JwtParser parser;
+        String issuer;
+        String audience;
+        int expirationMinutes;
+    }
 }
@@ -1,103 +1,133 @@
 package com.vendorauth.service.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vendorauth.dto.AuthenticationRequest;
 import com.vendorauth.dto.AuthenticationResponse;
 import com.vendorauth.entity.VendorConfig;
 import com.vendorauth.exception.AuthenticationException;
+import com.vendorauth.http.VendorHttpClient;
+import com.vendorauth.http.VendorRetryPolicy;
+import com.vendorauth.service.AuthenticatorProfile;
 import com.vendorauth.service.VendorAuthenticator;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * OAuth2 implementation of VendorAuthenticator.
  * Handles OAuth2 authentication flows including client credentials and password grants.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class OAuth2Authenticator implements VendorAuthenticator {
-    
-    private final RestTemplate restTemplate = new RestTemplate();
+
+    private static final String CLIENT_CREDENTIALS = "client_credentials";
+    private static final String PASSWORD = "password";
+
+    private final VendorHttpClient httpClient;
+    private final VendorRetryPolicy retryPolicy;
+    private final ObjectMapper objectMapper;
+    private final ClientCredentialsTokenCache tokenCache;
 
     @Override
     public AuthenticationResponse authenticate(VendorConfig config, AuthenticationRequest request) {
-        validateConfig(config);
-        JsonNode authDetails = config.getAuthDetailsJson();
-        
+        return authenticate(compile(config), request);
+    }
+
+    @Override
+    public AuthenticationResponse authenticate(AuthenticatorProfile profile, AuthenticationRequest request) {
+        OAuth2Profile oauth2Profile = (OAuth2Profile) profile;
+
+        // client_credentials tokens do not depend on the caller, so all requests share one
+        if (CLIENT_CREDENTIALS.equals(oauth2Profile.getGrantType())) {
+            return tokenCache.getToken(oauth2Profile.getConfig(), oauth2Profile.getClientId(),
+                oauth2Profile.getScope(), () -> requestToken(oauth2Profile, request));
+        }
+        return requestToken(oauth2Profile, request);
+    }
+
+    private AuthenticationResponse requestToken(OAuth2Profile oauth2Profile, AuthenticationRequest request) {
         try {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-            
-            MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
-            String grantType = authDetails.path("grantType").asText("client_credentials");
-            body.add("grant_type", grantType);
-            
+
             // Configure request based on grant type
-            configureOAuth2Request(authDetails, request, body, grantType);
-            
-            // Execute token request
+            MultiValueMap<String, String> body = buildTokenRequestBody(oauth2Profile, request);
+
+            // Execute token request; a POST is only retried when the vendor did not process it
             HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(body, headers);
-            var response = restTemplate.postForEntity(
-                authDetails.path("tokenUrl").asText(), 
-                entity, 
-                Map.class
-            );
-            
+            var response = retryPolicy.execute(oauth2Profile.getConfig(), false, () ->
+                httpClient.restTemplate(oauth2Profile.getConfig()).postForEntity(
+                    oauth2Profile.getTokenUrl(),
+                    entity,
+                    Map.class
+                ));
+
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return buildSuccessResponse(response.getBody());
+                @SuppressWarnings("unchecked")
+                Map<String, Object> responseBody = response.getBody();
+                return buildSuccessResponse(oauth2Profile.getVendorId(), responseBody);
             }
-            
-            throw new AuthenticationException("OAuth2 authentication failed: " + response.getStatusCode(), 
-                "OAUTH2_AUTH_FAILED");
-            
+
+            throw new AuthenticationException(oauth2Profile.getVendorId(), "OAUTH2_AUTH_FAILED",
+                "OAuth2 authentication failed: " + response.getStatusCode());
+
+        } catch (AuthenticationException e) {
+            throw e;
         } catch (Exception e) {
             log.error("OAuth2 authentication error", e);
-            throw new AuthenticationException("OAuth2 authentication failed: " + e.getMessage(), 
-                "OAUTH2_AUTH_ERROR", e);
+            throw new AuthenticationException(oauth2Profile.getVendorId(), "OAUTH2_AUTH_ERROR",
+                "OAuth2 authentication failed: " + e.getMessage(), e);
         }
     }
 
-    private void configureOAuth2Request(JsonNode authDetails, AuthenticationRequest request, 
-                                      MultiValueMap<String, String> body, String grantType) {
-        switch (grantType) {
-            case "client_credentials":
-                body.add("client_id", authDetails.path("clientId").asText());
-                body.add("client_secret", authDetails.path("clientSecret").asText());
-                if (authDetails.has("scope")) {
-                    body.add("scope", authDetails.path("scope").asText());
+    private MultiValueMap<String, String> buildTokenRequestBody(OAuth2Profile profile, AuthenticationRequest request) {
+        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+        body.add("grant_type", profile.getGrantType());
+        body.add("client_id", profile.getClientId());
+        switch (profile.getGrantType()) {
+            case CLIENT_CREDENTIALS:
+                body.add("client_secret", profile.getClientSecret());
+                if (profile.getScope() != null) {
+                    body.add("scope", profile.getScope());
                 }
                 break;
-                
-            case "password":
+
+            case PASSWORD:
                 body.add("username", request.getUsername());
                 body.add("password", request.getPassword());
-                body.add("client_id", authDetails.path("clientId").asText());
-                if (authDetails.has("clientSecret")) {
-                    body.add("client_secret", authDetails.path("clientSecret").asText());
+                if (profile.getClientSecret() != null) {
+                    body.add("client_secret", profile.getClientSecret());
                 }
                 break;
-                
+
             default:
-                throw new AuthenticationException("Unsupported grant type: " + grantType, 
-                    "OAUTH2_UNSUPPORTED_GRANT_TYPE");
+                // Rejected in compile(); kept for exhaustiveness
+                throw new AuthenticationException(profile.getVendorId(), "OAUTH2_UNSUPPORTED_GRANT_TYPE",
+                    "Unsupported grant type: " + profile.getGrantType());
         }
+        return body;
     }
-    
-    private AuthenticationResponse buildSuccessResponse(Map<String, Object> responseBody) {
+
+    private AuthenticationResponse buildSuccessResponse(String vendorId, Map<String, Object> responseBody) {
         String accessToken = firstNonNullString(responseBody, "access_token", "accessToken", "token");
         String refreshToken = firstNonNullString(responseBody, "refresh_token", "refreshToken");
         LocalDateTime tokenExpiry = extractExpiry(responseBody);
 
         return AuthenticationResponse.builder()
             .success(true)
+            .vendorId(vendorId)
             .message("Authentication successful")
             .accessToken(accessToken)
             .refreshToken(refreshToken)
@@ -133,30 +163,52 @@ public class OAuth2Authenticator implements VendorAuthenticator {
     @Override
     public boolean isConfigurationValid(VendorConfig config) {
         try {
-            validateConfig(config);
+            compile(config);
             return true;
         } catch (AuthenticationException e) {
             return false;
         }
     }
 
-    private void validateConfig(VendorConfig config) {
+    @Override
+    public AuthenticatorProfile compile(VendorConfig config) {
         if (config == null || config.getAuthDetailsJson() == null) {
-            throw new AuthenticationException("Invalid OAuth2 configuration", "OAUTH2_INVALID_CONFIG");
+            throw new AuthenticationException(config != null ? config.getVendorId() : null,
+                "OAUTH2_INVALID_CONFIG", "Invalid OAuth2 configuration");
+        }
+        String vendorId = config.getVendorId();
+
+        JsonNode authDetails;
+        try {
+            authDetails = objectMapper.readTree(config.getAuthDetailsJson());
+        } catch (Exception e) {
+            throw new AuthenticationException(vendorId, "OAUTH2_INVALID_JSON", "Invalid OAuth2 configuration JSON", e);
         }
-        
-        JsonNode authDetails = config.getAuthDetailsJson();
+
         if (!authDetails.has("tokenUrl")) {
-            throw new AuthenticationException("Missing 'tokenUrl' in OAuth2 config", "OAUTH2_MISSING_TOKEN_URL");
+            throw new AuthenticationException(vendorId, "OAUTH2_MISSING_TOKEN_URL",
+                "Missing 'tokenUrl' in OAuth2 config");
         }
-        
-        String grantType = authDetails.path("grantType").asText("client_credentials");
-        if ("client_credentials".equals(grantType) && 
+
+        String grantType = authDetails.path("grantType").asText(CLIENT_CREDENTIALS);
+        if (!CLIENT_CREDENTIALS.equals(grantType) && !PASSWORD.equals(grantType)) {
+            throw new AuthenticationException(vendorId, "OAUTH2_UNSUPPORTED_GRANT_TYPE",
+                "Unsupported grant type: " + grantType);
+        }
+        if (CLIENT_CREDENTIALS.equals(grantType) &&
             (!authDetails.has("clientId") || !authDetails.has("clientSecret"))) {
-            throw new AuthenticationException(
-                "client_credentials flow requires 'clientId' and 'clientSecret'", 
-                "OAUTH2_MISSING_CREDENTIALS");
+            throw new AuthenticationException(vendorId, "OAUTH2_MISSING_CREDENTIALS",
+                "client_credentials flow requires 'clientId' and 'clientSecret'");
         }
+
+        return new OAuth2Profile(
+            config,
+            authDetails.path("tokenUrl").asText(),
+            grantType,
+            authDetails.path("clientId").asText(),
+            authDetails.has("clientSecret") ? authDetails.path("clientSecret").asText() : null,
+            authDetails.has("scope") ? authDetails.path("scope").asText() : null
+        );
     }
 
     @Override
@@ -165,11 +217,31 @@ public class OAuth2Authenticator implements VendorAuthenticator {
             OAuth2 Configuration (JSON format):
             {
               "tokenUrl": "https://auth.example.com/oauth/token",
-              "grantType": "client_credentials|password|authorization_code",
+              "grantType": "client_credentials|password",
               "clientId": "your-client-id",
               "clientSecret": "your-client-secret",
               "scope": "optional space-separated scopes"
             }
             """;
     }
+
+    /**
+     * Compiled OAuth2 configuration for a single vendor.
+     */
+    @Value
+    static class OAuth2Profile implements AuthenticatorProfile {
+        @ToString.Exclude
+        VendorConfig config;
+        String tokenUrl;
+        String grantType;
+        String clientId;
+        @ToString.Exclude
+        String clientSecret;
+        String scope;
+
+        @Override
+        public Optional<String> getUpstreamUrl() {
+            return Optional.of(tokenUrl);
+        }
+    }
 }
@@ -0,0 +1,141 @@
+package com.vendorauth.timing;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+/**
+ * Per-request stage timings, reported to the caller in a {@code Server-Timing} header.
+ *
+ * Timing is opt-in per request (see {@link ServerTimingInterceptor}). While a request is
+ * handled, its instance is bound to the handling thread and found with {@link #current()};
+ * work handed to other threads takes it along through {@link #propagate(Executor)}.
+ * Without an opt-in, {@link #current()} returns {@link #DISABLED}, whose methods do
+ * nothing, so call sites record unconditionally.
+ *
+ * Durations of a stage that runs several times in a request (e.g. retried vendor calls)
+ * are added up. Stages may overlap: {@code authn} includes {@code upstream}.
+ */
+public final class ServerTiming {
+
+    /**
+     * Stages reported in the header, in header order
+     */
+    public enum Stage {
+        /** Database lookups (vendor configuration, users) */
+        DB("db"),
+        /** Parsing and validating vendor configuration */
+        VALIDATE("validate"),
+        /** Local credential checks, e.g. JWT signature verification */
+        VERIFY("verify"),
+        /** The authenticator as a whole, including outbound calls */
+        AUTHN("authn"),
+        /** Outbound calls to the vendor, all attempts */
+        UPSTREAM("upstream"),
+        /** Issuing tokens */
+        SIGN("sign"),
+        /** Serializing the response body */
+        SERIALIZE("serialize");
+
+        private final String metricName;
+
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    public static final ServerTiming DISABLED = new ServerTiming(false);
+
+    private final boolean enabled;
+    private final long[] totalNanos = new long[STAGES.length];
+    private final boolean[] recorded = new boolean[STAGES.length];
+
+    private ServerTiming(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * New, enabled timing for one request
+     */
+    public static ServerTiming create() {
+        return new ServerTiming(true);
+    }
+
+    /**
+     * Timing of the request handled by the current thread, or {@link #DISABLED}
+     */
+    public static ServerTiming current() {
+        ServerTiming timing = CURRENT.get();
+        return timing != null ? timing : DISABLED;
+    }
+
+    static void bind(ServerTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Add the time since {@code startNanos} ({@link System#nanoTime()}) to the stage.
+     */
+    public void record(Stage stage, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        synchronized (this) {
+            totalNanos[stage.ordinal()] += elapsed;
+            recorded[stage.ordinal()] = true;
+        }
+    }
+
+    /**
+     * Executor that runs tasks with this timing bound to the worker thread; the executor
+     * itself when timing is disabled.
+     */
+    public Executor propagate(Executor executor) {
+        if (!enabled) {
+            return executor;
+        }
+        return task -> executor.execute(() -> {
+            ServerTiming previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        });
+    }
+
+    /**
+     * Header value, e.g. {@code db;dur=0.42, validate;dur=0.08, authn;dur=812.5}, with
+     * durations in milliseconds; stages that did not run are omitted.
+     */
+    public synchronized String headerValue() {
+        StringBuilder header = new StringBuilder();
+        for (Stage stage : STAGES) {
+            if (!recorded[stage.ordinal()]) {
+                continue;
+            }
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append(stage.metricName).append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.2f", totalNanos[stage.ordinal()] / 1_000_000.0));
+        }
+        return header.toString();
+    }
+}
@@ -0,0 +1,64 @@
+package com.vendorauth.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Starts {@link ServerTiming} for requests that ask for it with the opt-in header
+ * ({@code X-Server-Timing: true} by default) and binds it to the handling thread.
+ *
+ * The timing is kept in a request attribute, so that it is bound again when an async
+ * request is dispatched back to write its result, and is picked up from there by
+ * {@link ServerTimingResponseAdvice} to write the header.
+ */
+@Component
+public class ServerTimingInterceptor implements AsyncHandlerInterceptor {
+
+    static final String ATTRIBUTE = ServerTiming.class.getName();
+
+    private final boolean enabled;
+    private final String requestHeader;
+
+    public ServerTimingInterceptor(@Value("${app.server-timing.enabled:true}") boolean enabled,
+                                   @Value("${app.server-timing.request-header:X-Server-Timing}") String requestHeader) {
+        this.enabled = enabled;
+        this.requestHeader = requestHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled) {
+            return true;
+        }
+        ServerTiming timing = (ServerTiming) request.getAttribute(ATTRIBUTE);
+        if (timing == null) {
+            if (!isRequested(request.getHeader(requestHeader))) {
+                return true;
+            }
+            timing = ServerTiming.create();
+            request.setAttribute(ATTRIBUTE, timing);
+        }
+        ServerTiming.bind(timing);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ServerTiming.unbind();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ServerTiming.unbind();
+    }
+
+    private static boolean isRequested(String headerValue) {
+        return StringUtils.hasText(headerValue)
+                && !"false".equalsIgnoreCase(headerValue.trim())
+                && !"0".equals(headerValue.trim());
+    }
+}
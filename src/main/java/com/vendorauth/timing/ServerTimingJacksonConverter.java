@@ -0,0 +1,54 @@
+package com.vendorauth.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * JSON message converter that measures the {@code serialize} stage of requests with
+ * {@link ServerTiming} enabled.
+ *
+ * Headers have to be sent before the body, so for those requests the body is serialized
+ * into a buffer, the time taken is recorded, the {@code Server-Timing} header is set, and
+ * only then is the buffer written out. Other requests are written straight through.
+ */
+public class ServerTimingJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    public ServerTimingJacksonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ServerTiming timing = ServerTiming.current();
+        if (!timing.isEnabled()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        long start = System.nanoTime();
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        timing.record(ServerTiming.Stage.SERIALIZE, start);
+        outputMessage.getHeaders().set(ServerTimingResponseAdvice.SERVER_TIMING, timing.headerValue());
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,43 @@
+package com.vendorauth.timing;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Writes the {@code Server-Timing} header for requests with {@link ServerTiming} enabled.
+ *
+ * Bodies written by {@link ServerTimingJacksonConverter} get the header from the converter,
+ * once the {@code serialize} stage is known; for any other body the header is written
+ * here, without a {@code serialize} stage.
+ */
+@ControllerAdvice
+public class ServerTimingResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(servletRequest.getServletRequest().getAttribute(ServerTimingInterceptor.ATTRIBUTE) instanceof ServerTiming timing)) {
+            return body;
+        }
+        if (body != null && ServerTimingJacksonConverter.class.isAssignableFrom(selectedConverterType)) {
+            return body;
+        }
+        response.getHeaders().add(SERVER_TIMING, timing.headerValue());
+        return body;
+    }
+}
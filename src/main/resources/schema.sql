@@ -34,3 +34,24 @@ BEGIN
     ALTER TABLE vendor_configs ADD auth_details_json NVARCHAR(MAX);
     PRINT 'Added auth_details_json column';
 END
+
+-- Create the vendor_api_keys table if it doesn't exist (HMAC-SHA256 digests only, never raw keys)
+IF NOT EXISTS (SELECT * FROM sys.tables WHERE name = 'vendor_api_keys')
+BEGIN
+    CREATE TABLE vendor_api_keys (
+        id BIGINT IDENTITY(1,1) PRIMARY KEY,
+        vendor_id NVARCHAR(255) NOT NULL,
+        key_digest CHAR(64) NOT NULL,
+        active BIT NOT NULL DEFAULT 1,
+        expires_at DATETIME2 NULL,
+        description NVARCHAR(1000),
+        created_at DATETIME2 NOT NULL DEFAULT SYSUTCDATETIME(),
+        updated_at DATETIME2 NOT NULL DEFAULT SYSUTCDATETIME(),
+        CONSTRAINT uk_api_key_digest UNIQUE (key_digest)
+    );
+
+    -- Incremental refresh reads rows by updated_at
+    CREATE INDEX idx_api_key_updated_at ON vendor_api_keys(updated_at);
+
+    PRINT 'Created vendor_api_keys table and indexes';
+END
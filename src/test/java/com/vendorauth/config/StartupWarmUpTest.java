@@ -0,0 +1,123 @@
+package com.vendorauth.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.http.VendorHttpClient;
+import com.vendorauth.repository.VendorConfigRepository;
+import com.vendorauth.security.JwtTokenProvider;
+import com.vendorauth.service.AuthenticatorProfile;
+import com.vendorauth.service.VendorAuthenticationService;
+import com.vendorauth.service.VendorCallExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmUpTest {
+
+    @Mock
+    private VendorConfigRepository vendorConfigRepository;
+
+    @Mock
+    private VendorAuthenticationService vendorAuthenticationService;
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private VendorHttpClient vendorHttpClient;
+
+    private VendorCallExecutor vendorCallExecutor;
+    private StartupWarmUp warmUp;
+
+    @BeforeEach
+    void setUp() {
+        vendorCallExecutor = new VendorCallExecutor(new SimpleMeterRegistry(), 2, 10, false);
+        warmUp = new StartupWarmUp(vendorConfigRepository, vendorAuthenticationService, jwtTokenProvider,
+                vendorHttpClient, vendorCallExecutor, new ObjectMapper(), 3, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        vendorCallExecutor.shutdown();
+    }
+
+    @Test
+    void run_ShouldPrepareActiveVendorsAndWarmUpJwtAndConnections() {
+        // given
+        VendorConfig oauth2Vendor = vendor("vendor-a", "https://api.shared-vendor.com");
+        VendorConfig basicVendor = vendor("vendor-b", "https://api.shared-vendor.com");
+        VendorConfig jwtVendor = vendor("vendor-c", "https://jwt-vendor.example.com");
+        when(vendorConfigRepository.findByActiveTrue()).thenReturn(List.of(oauth2Vendor, basicVendor, jwtVendor));
+        when(vendorAuthenticationService.prepareVendor("vendor-a"))
+                .thenReturn(Optional.of(profile(oauth2Vendor, "https://auth.shared-vendor.com/oauth/token")));
+        when(vendorAuthenticationService.prepareVendor("vendor-b"))
+                .thenReturn(Optional.of(profile(basicVendor, "https://auth.shared-vendor.com/oauth/token")));
+        when(vendorAuthenticationService.prepareVendor("vendor-c"))
+                .thenReturn(Optional.of(profile(jwtVendor, null)));
+        when(jwtTokenProvider.generateToken(any(UserDetails.class))).thenReturn("token");
+        when(vendorHttpClient.preconnect(anyString(), any(Duration.class))).thenReturn(true);
+
+        // when
+        warmUp.run();
+
+        // then
+        verify(vendorAuthenticationService).prepareVendor("vendor-a");
+        verify(vendorAuthenticationService).prepareVendor("vendor-b");
+        verify(vendorAuthenticationService).prepareVendor("vendor-c");
+        verify(jwtTokenProvider, times(3)).verify("token");
+        verify(vendorHttpClient, times(1))
+                .preconnect(eq("https://auth.shared-vendor.com/oauth/token"), any(Duration.class));
+        verify(vendorHttpClient, never()).preconnect(eq("https://api.shared-vendor.com"), any(Duration.class));
+        verify(vendorHttpClient, never()).preconnect(eq("https://jwt-vendor.example.com"), any(Duration.class));
+    }
+
+    @Test
+    void run_WhenVendorPreparationFails_ShouldStillComplete() {
+        // given
+        when(vendorConfigRepository.findByActiveTrue()).thenReturn(List.of(vendor("broken-vendor", null)));
+        when(vendorAuthenticationService.prepareVendor("broken-vendor")).thenThrow(new IllegalStateException("boom"));
+        when(jwtTokenProvider.generateToken(any(UserDetails.class))).thenReturn("token");
+
+        // when
+        warmUp.run();
+
+        // then
+        verify(jwtTokenProvider, times(3)).verify("token");
+    }
+
+    private static AuthenticatorProfile profile(VendorConfig config, String upstreamUrl) {
+        return new AuthenticatorProfile() {
+            @Override
+            public VendorConfig getConfig() {
+                return config;
+            }
+
+            @Override
+            public Optional<String> getUpstreamUrl() {
+                return Optional.ofNullable(upstreamUrl);
+            }
+        };
+    }
+
+    private static VendorConfig vendor(String vendorId, String baseUrl) {
+        return VendorConfig.builder().vendorId(vendorId).baseUrl(baseUrl).active(true).build();
+    }
+}
@@ -1,12 +1,18 @@
 package com.vendorauth.config;
 
+import com.vendorauth.mapper.VendorApiKeyMapper;
 import com.vendorauth.mapper.VendorConfigMapper;
+import com.vendorauth.repository.VendorApiKeyRepository;
+import com.vendorauth.repository.VendorConfigBatchLoader;
 import com.vendorauth.repository.VendorConfigRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 
+import java.time.Duration;
+
 /**
  * Test configuration for MyBatis tests.
  * Provides necessary beans for repository testing.
@@ -14,8 +20,18 @@ import org.springframework.context.annotation.Import;
 @TestConfiguration
 public class TestMyBatisConfig {
 
+    public static final String API_KEY_HMAC_SECRET = "test-api-key-hmac-secret-0123456789abcdef";
+
     @Bean
     public VendorConfigRepository vendorConfigRepository(VendorConfigMapper mapper) {
-        return new VendorConfigRepository(mapper);
+        VendorConfigBatchLoader batchLoader = new VendorConfigBatchLoader(mapper, new SimpleMeterRegistry(),
+                Duration.ofNanos(500_000), 100);
+        return new VendorConfigRepository(mapper, batchLoader, 30000, 1000);
+    }
+
+    @Bean
+    public VendorApiKeyRepository vendorApiKeyRepository(VendorApiKeyMapper mapper) {
+        return new VendorApiKeyRepository(mapper, new SimpleMeterRegistry(),
+                API_KEY_HMAC_SECRET, Duration.ofMinutes(10));
     }
 }
@@ -100,6 +100,46 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void refreshToken_WithAlreadyUsedRefreshToken_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        TokenRefreshRequest request = new TokenRefreshRequest(tokenProvider.generateRefreshToken("testuser"));
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void logout_ShouldRevokeAccessAndRefreshTokens() throws Exception {
+        // Arrange
+        String accessToken = tokenProvider.generateToken("testuser");
+        TokenRefreshRequest request = new TokenRefreshRequest(tokenProvider.generateRefreshToken("testuser"));
+
+        // Act
+        mockMvc.perform(post("/api/v1/auth/logout")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        mockMvc.perform(post("/api/v1/auth/validate")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(accessToken))
+                .andExpect(content().string("false"));
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void validateToken_WithValidToken_ShouldReturnTrue() throws Exception {
         // Arrange
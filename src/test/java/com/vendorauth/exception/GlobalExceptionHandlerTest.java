@@ -6,12 +6,14 @@ import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -76,6 +78,17 @@ class GlobalExceptionHandlerTest {
         assertTrue(Objects.requireNonNull(response.getBody()).getMessage().contains("not supported"));
     }
 
+    @Test
+    void handlePasswordHashingUnavailable() {
+        PasswordHashingUnavailableException ex =
+                new PasswordHashingUnavailableException("Password hashing is at capacity", Duration.ofMillis(1500));
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handlePasswordHashingUnavailable(ex, webRequest);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), Objects.requireNonNull(response.getBody()).getStatus());
+    }
+
     @Test
     void handleAllExceptions() {
         Exception ex = new Exception("Test exception");
@@ -0,0 +1,133 @@
+package com.vendorauth.http;
+
+import com.sun.net.httpserver.HttpServer;
+import com.vendorauth.entity.VendorConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VendorHttpClientTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private VendorHttpClient httpClient;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(3000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        AtomicInteger flakyCalls = new AtomicInteger();
+        server.createContext("/flaky", exchange -> {
+            // Slow 503 first, then a response slower than any vendor timeout
+            try {
+                Thread.sleep(flakyCalls.incrementAndGet() == 1 ? 1200 : 3000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Connection", "close");
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        meterRegistry = new SimpleMeterRegistry();
+        httpClient = new VendorHttpClient(meterRegistry, 10, 5, Duration.ofSeconds(5), Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void restTemplate_ShouldBeSharedPerTimeout() {
+        // given
+        VendorConfig first = VendorConfig.builder().vendorId("first").timeoutSeconds(5).build();
+        VendorConfig second = VendorConfig.builder().vendorId("second").timeoutSeconds(5).build();
+
+        // when / then
+        assertThat(httpClient.restTemplate(first)).isSameAs(httpClient.restTemplate(second));
+        assertThat(httpClient.restTemplate(first).getForObject(baseUrl + "/ok", String.class)).isEqualTo("ok");
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauge()).isNotNull();
+    }
+
+    @Test
+    void restTemplate_ShouldApplyVendorTimeout() {
+        // given
+        VendorConfig config = VendorConfig.builder().vendorId("slow-vendor").timeoutSeconds(1).build();
+
+        // when / then
+        assertThatThrownBy(() -> httpClient.restTemplate(config).getForObject(baseUrl + "/slow", String.class))
+                .isInstanceOf(ResourceAccessException.class);
+    }
+
+    @Test
+    void restTemplate_WithRetries_ShouldStayWithinVendorTimeout() {
+        // given
+        VendorRetryPolicy retryPolicy = new VendorRetryPolicy(meterRegistry, Duration.ofMillis(1),
+                Duration.ofMillis(5), Duration.ofMillis(200));
+        VendorConfig config = VendorConfig.builder().vendorId("flaky-vendor").timeoutSeconds(2).maxRetries(3).build();
+        long start = System.nanoTime();
+
+        // when / then
+        assertThatThrownBy(() -> retryPolicy.execute(config, false,
+                () -> httpClient.restTemplate(config).getForObject(baseUrl + "/flaky", String.class)))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2600));
+    }
+
+    @Test
+    void preconnect_ShouldLeaveReusableConnectionInPool() {
+        // given
+        VendorConfig config = VendorConfig.builder().vendorId("test-vendor").timeoutSeconds(5).build();
+
+        // when
+        boolean connected = httpClient.preconnect(baseUrl + "/ok", Duration.ofSeconds(1));
+
+        // then
+        assertThat(connected).isTrue();
+        assertThat(availableConnections()).isEqualTo(1);
+        assertThat(httpClient.restTemplate(config).getForObject(baseUrl + "/ok", String.class)).isEqualTo("ok");
+        assertThat(availableConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void preconnect_WithUnreachableHost_ShouldReturnFalse() {
+        // when / then
+        assertThat(httpClient.preconnect("http://127.0.0.1:1", Duration.ofSeconds(1))).isFalse();
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased").gauge().value()).isZero();
+    }
+
+    private double availableConnections() {
+        return meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge().value();
+    }
+}
@@ -0,0 +1,136 @@
+package com.vendorauth.http;
+
+import com.vendorauth.entity.VendorConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VendorRetryPolicyTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VendorRetryPolicy retryPolicy;
+    private VendorConfig config;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retryPolicy = new VendorRetryPolicy(meterRegistry, Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(1));
+        config = VendorConfig.builder().vendorId("test-vendor").maxRetries(2).timeoutSeconds(5).build();
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void execute_WithTransientUnavailable_ShouldRetryUntilSuccess() {
+        // when
+        String result = retryPolicy.execute(config, false, () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return "ok";
+        });
+
+        // then
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(meterRegistry.counter("vendor.http.attempts", "vendorId", "test-vendor", "outcome", "retry").count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void execute_ShouldTimeEachAttempt() {
+        // when
+        retryPolicy.execute(config, false, () -> {
+            if (calls.incrementAndGet() < 2) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return "ok";
+        });
+
+        // then
+        assertThat(meterRegistry.timer("vendor.http.requests", "vendorId", "test-vendor", "outcome", "failure").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.timer("vendor.http.requests", "vendorId", "test-vendor", "outcome", "success").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldStopAfterMaxRetries() {
+        // when / then
+        assertThatThrownBy(() -> retryPolicy.execute(config, true, () -> {
+            calls.incrementAndGet();
+            throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+        })).isInstanceOf(HttpServerErrorException.class);
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void execute_WithClientError_ShouldNotRetry() {
+        // when / then
+        assertThatThrownBy(() -> retryPolicy.execute(config, true, () -> {
+            calls.incrementAndGet();
+            throw new HttpClientErrorException(HttpStatus.UNAUTHORIZED);
+        })).isInstanceOf(HttpClientErrorException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_WithReadTimeoutOnNonIdempotentCall_ShouldNotRetry() {
+        // when / then
+        assertThatThrownBy(() -> retryPolicy.execute(config, false, () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("timed out", new SocketTimeoutException("Read timed out"));
+        })).isInstanceOf(ResourceAccessException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldCutAttemptTimeoutsToRemainingBudget() {
+        // given
+        RequestConfig vendorTimeouts = RequestConfig.custom().setResponseTimeout(Timeout.ofSeconds(30)).build();
+
+        // when
+        RequestConfig duringAttempt = retryPolicy.execute(config, false, () -> CallDeadline.clamp(vendorTimeouts));
+
+        // then
+        assertThat(duringAttempt.getResponseTimeout().toMilliseconds()).isBetween(1L, 5000L);
+        assertThat(CallDeadline.clamp(vendorTimeouts)).isSameAs(vendorTimeouts);
+    }
+
+    @Test
+    void execute_WithTooLittleBudgetLeft_ShouldNotRetry() {
+        // given
+        VendorRetryPolicy policy = new VendorRetryPolicy(meterRegistry, Duration.ofMillis(1), Duration.ofMillis(5),
+                Duration.ofMillis(500));
+        VendorConfig oneSecond = VendorConfig.builder().vendorId("test-vendor").maxRetries(2).timeoutSeconds(1).build();
+
+        // when / then
+        assertThatThrownBy(() -> policy.execute(oneSecond, false, () -> {
+            calls.incrementAndGet();
+            sleep(600);
+            throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+        })).isInstanceOf(HttpServerErrorException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.vendorauth.repository;
+
+import com.vendorauth.config.TestMyBatisConfig;
+import com.vendorauth.entity.VendorApiKey;
+import com.vendorauth.mapper.VendorApiKeyMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for VendorApiKeyRepository using MyBatis.
+ * Tests use H2 in-memory database with SQL Server compatibility mode.
+ */
+@MybatisTest
+@Import(TestMyBatisConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class VendorApiKeyRepositoryTest {
+
+    @Autowired
+    private VendorApiKeyRepository apiKeyRepository;
+
+    @Autowired
+    private VendorApiKeyMapper mapper;
+
+    @Test
+    void whenKeyCreated_thenValidOnlyForItsVendor() {
+        // given
+        VendorApiKey created = apiKeyRepository.create("vendor-1", "key-0123456789", null, "test key");
+
+        // then
+        assertThat(created.getKeyDigest()).hasSize(64).doesNotContain("key-0123456789");
+        assertThat(apiKeyRepository.isValid("vendor-1", "key-0123456789")).isTrue();
+        assertThat(apiKeyRepository.isValid("vendor-2", "key-0123456789")).isFalse();
+        assertThat(apiKeyRepository.isValid("vendor-1", "key-9876543210")).isFalse();
+    }
+
+    @Test
+    void whenKeyExpired_thenInvalid() {
+        // given
+        apiKeyRepository.create("vendor-1", "expired-key-0123", LocalDateTime.now(ZoneOffset.UTC).minusMinutes(1), null);
+        apiKeyRepository.create("vendor-1", "current-key-0123", LocalDateTime.now(ZoneOffset.UTC).plusHours(1), null);
+
+        // then
+        assertThat(apiKeyRepository.isValid("vendor-1", "expired-key-0123")).isFalse();
+        assertThat(apiKeyRepository.isValid("vendor-1", "current-key-0123")).isTrue();
+    }
+
+    @Test
+    void whenServerZoneIsNotUtc_thenExpiryIsReadAsUtc() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            // given: ahead of UTC, a UTC expiry read as local time would already have passed
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+            apiKeyRepository.create("vendor-1", "ahead-key-0123", LocalDateTime.now(ZoneOffset.UTC).plusMinutes(30), null);
+            // behind UTC, a passed UTC expiry read as local time would still be hours away
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            apiKeyRepository.create("vendor-1", "behind-key-0123", LocalDateTime.now(ZoneOffset.UTC).minusMinutes(30), null);
+
+            // then
+            assertThat(apiKeyRepository.isValid("vendor-1", "ahead-key-0123")).isTrue();
+            assertThat(apiKeyRepository.isValid("vendor-1", "behind-key-0123")).isFalse();
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test
+    void whenKeyRevoked_thenInvalid() {
+        // given
+        VendorApiKey created = apiKeyRepository.create("vendor-1", "revoked-key-0123", null, null);
+
+        // when
+        apiKeyRepository.revoke(created.getId());
+
+        // then
+        assertThat(apiKeyRepository.isValid("vendor-1", "revoked-key-0123")).isFalse();
+    }
+
+    @Test
+    void whenKeysChangedByAnotherInstance_thenRefreshAppliesChanges() {
+        // given
+        VendorApiKeyRepository otherInstance = new VendorApiKeyRepository(mapper, new SimpleMeterRegistry(),
+                TestMyBatisConfig.API_KEY_HMAC_SECRET, Duration.ofMinutes(10));
+        VendorApiKey existing = apiKeyRepository.create("vendor-1", "existing-key-0123", null, null);
+        otherInstance.create("vendor-2", "added-key-0123", null, null);
+        otherInstance.revoke(existing.getId());
+        assertThat(apiKeyRepository.isValid("vendor-1", "existing-key-0123")).isTrue();
+        assertThat(apiKeyRepository.isValid("vendor-2", "added-key-0123")).isFalse();
+
+        // when
+        apiKeyRepository.refresh();
+
+        // then
+        assertThat(apiKeyRepository.isValid("vendor-1", "existing-key-0123")).isFalse();
+        assertThat(apiKeyRepository.isValid("vendor-2", "added-key-0123")).isTrue();
+        assertThat(apiKeyRepository.size()).isEqualTo(1);
+    }
+
+    @Test
+    void whenKeyWrittenByClockBehindThisServer_thenRefreshAppliesIt() throws Exception {
+        // given - rows stamped by the database in UTC, hours behind this server's local time
+        LocalDateTime databaseTime = LocalDateTime.now().minusHours(3);
+        mapper.insert(row("vendor-1", "existing-key-0123", databaseTime));
+        VendorApiKeyRepository repository = new VendorApiKeyRepository(mapper, new SimpleMeterRegistry(),
+                TestMyBatisConfig.API_KEY_HMAC_SECRET, Duration.ofMinutes(10));
+        assertThat(repository.isValid("vendor-1", "existing-key-0123")).isTrue();
+        mapper.insert(row("vendor-2", "outside-key-0123", databaseTime.plusSeconds(30)));
+
+        // when
+        repository.refresh();
+
+        // then
+        assertThat(repository.isValid("vendor-2", "outside-key-0123")).isTrue();
+    }
+
+    private static VendorApiKey row(String vendorId, String apiKey, LocalDateTime updatedAt) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(TestMyBatisConfig.API_KEY_HMAC_SECRET.getBytes(StandardCharsets.UTF_8),
+                "HmacSHA256"));
+        return VendorApiKey.builder()
+                .vendorId(vendorId)
+                .keyDigest(HexFormat.of().formatHex(mac.doFinal(apiKey.getBytes(StandardCharsets.UTF_8))))
+                .active(true)
+                .createdAt(updatedAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.vendorauth.repository;
+
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.mapper.VendorConfigMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VendorConfigBatchLoaderTest {
+
+    private VendorConfigMapper mapper;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(VendorConfigMapper.class);
+        when(mapper.findByVendorIds(anyList())).thenAnswer(invocation -> {
+            List<String> vendorIds = invocation.getArgument(0);
+            return vendorIds.stream()
+                    .filter(vendorId -> vendorId.startsWith("vendor-"))
+                    .map(vendorId -> VendorConfig.builder().vendorId(vendorId).build())
+                    .toList();
+        });
+        callers = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void load_WithConcurrentMisses_ShouldResolveThemInOneQuery() throws Exception {
+        // given
+        VendorConfigBatchLoader loader = loader(Duration.ofMillis(200), 100);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<VendorConfig>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String vendorId = i < 6 ? "vendor-" + i : "unknown-" + i;
+            results.add(callers.submit(() -> {
+                start.await();
+                return loader.load(vendorId);
+            }));
+        }
+
+        // when
+        start.countDown();
+
+        // then
+        for (int i = 0; i < 8; i++) {
+            Optional<VendorConfig> result = results.get(i).get();
+            if (i < 6) {
+                assertThat(result).get().extracting(VendorConfig::getVendorId).isEqualTo("vendor-" + i);
+            } else {
+                assertThat(result).isEmpty();
+            }
+        }
+        verify(mapper, times(1)).findByVendorIds(anyList());
+    }
+
+    @Test
+    void load_WhenBatchIsFull_ShouldDispatchBeforeWindowEnds() {
+        // given
+        VendorConfigBatchLoader loader = loader(Duration.ofSeconds(30), 1);
+
+        // when
+        Optional<VendorConfig> result = loader.load("vendor-1");
+
+        // then
+        assertThat(result).isPresent();
+    }
+
+    @Test
+    void load_WhenQueryFails_ShouldPropagateToCaller() {
+        // given
+        when(mapper.findByVendorIds(anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+        VendorConfigBatchLoader loader = loader(Duration.ofNanos(500_000), 100);
+
+        // when / then
+        assertThatThrownBy(() -> loader.load("vendor-1"))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    @Test
+    void load_WhenQueryThrowsError_ShouldFailEveryCallerInBatch() throws Exception {
+        // given
+        CountDownLatch queried = new CountDownLatch(1);
+        when(mapper.findByVendorIds(anyList())).thenAnswer(invocation -> {
+            queried.countDown();
+            throw new NoClassDefFoundError("com/microsoft/sqlserver/jdbc/SQLServerDriver");
+        });
+        VendorConfigBatchLoader loader = loader(Duration.ofMillis(200), 100);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<VendorConfig>>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String vendorId = "vendor-" + i;
+            results.add(callers.submit(() -> {
+                start.await();
+                return loader.load(vendorId);
+            }));
+        }
+
+        // when
+        start.countDown();
+
+        // then
+        assertThat(queried.await(5, TimeUnit.SECONDS)).isTrue();
+        for (Future<Optional<VendorConfig>> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(NoClassDefFoundError.class);
+        }
+        verify(mapper, times(1)).findByVendorIds(anyList());
+    }
+
+    private VendorConfigBatchLoader loader(Duration window, int maxBatchSize) {
+        return new VendorConfigBatchLoader(mapper, new SimpleMeterRegistry(), window, maxBatchSize);
+    }
+}
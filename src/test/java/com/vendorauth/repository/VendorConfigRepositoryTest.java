@@ -3,6 +3,7 @@ package com.vendorauth.repository;
 import com.vendorauth.config.TestMyBatisConfig;
 import com.vendorauth.entity.VendorConfig;
 import com.vendorauth.enums.AuthType;
+import com.vendorauth.mapper.VendorConfigMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
@@ -15,6 +16,11 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Integration tests for VendorConfigRepository using MyBatis.
@@ -29,6 +35,9 @@ class VendorConfigRepositoryTest {
     @Autowired
     private VendorConfigRepository vendorConfigRepository;
 
+    @Autowired
+    private VendorConfigMapper mapper;
+
     private VendorConfig activeOauthVendor;
     private VendorConfig inactiveOauthVendor;
     private VendorConfig activeApiVendor;
@@ -149,4 +158,73 @@ class VendorConfigRepositoryTest {
         assertThat(found.get().getVendorId()).isEqualTo("new-vendor");
         assertThat(found.get().getVendorName()).isEqualTo("New Vendor");
     }
+
+    @Test
+    void whenUpdateVendor_thenSubsequentReadsReflectChange() {
+        // given
+        VendorConfig existing = vendorConfigRepository.findByVendorId("test-api-1").orElseThrow();
+        VendorConfig changed = createVendor("test-api-1", "API Vendor 1", AuthType.API_KEY, false);
+        changed.setId(existing.getId());
+
+        // when
+        vendorConfigRepository.save(changed);
+
+        // then
+        assertThat(vendorConfigRepository.findByVendorId("test-api-1")).get()
+                .extracting(VendorConfig::isActive).isEqualTo(false);
+        assertThat(vendorConfigRepository.findByActiveTrue()).extracting(VendorConfig::getVendorId)
+                .containsExactly("test-oauth-1");
+    }
+
+    @Test
+    void whenDeleteById_thenVendorIsNoLongerFound() {
+        // given
+        VendorConfig existing = vendorConfigRepository.findByVendorId("test-oauth-2").orElseThrow();
+
+        // when
+        vendorConfigRepository.deleteById(existing.getId());
+
+        // then
+        assertThat(vendorConfigRepository.findByVendorId("test-oauth-2")).isEmpty();
+        assertThat(vendorConfigRepository.existsById(existing.getId())).isFalse();
+        assertThat(vendorConfigRepository.findByAuthType(AuthType.OAUTH2)).hasSize(1);
+    }
+
+    @Test
+    void whenManyUnknownVendorIds_thenOnlyBudgetIsLookedUpUntilRefresh() {
+        // given
+        VendorConfigBatchLoader batchLoader = mock(VendorConfigBatchLoader.class);
+        when(batchLoader.load(anyString())).thenReturn(Optional.empty());
+        VendorConfigRepository repository = new VendorConfigRepository(mapper, batchLoader, 30000, 2);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            assertThat(repository.findByVendorId("unknown-" + i)).isEmpty();
+        }
+        repository.refresh();
+        repository.findByVendorId("unknown-5");
+
+        // then
+        verify(batchLoader, times(3)).load(anyString());
+        verify(batchLoader).load("unknown-5");
+    }
+
+    @Test
+    void whenMissCompletesAfterRefresh_thenItIsNotServedForNewSnapshot() {
+        // given
+        VendorConfigBatchLoader batchLoader = mock(VendorConfigBatchLoader.class);
+        VendorConfigRepository repository = new VendorConfigRepository(mapper, batchLoader, 30000, 100);
+        when(batchLoader.load("late-vendor")).thenAnswer(invocation -> {
+            // A refresh runs while this lookup is in flight
+            repository.refresh();
+            return Optional.empty();
+        });
+
+        // when
+        repository.findByVendorId("late-vendor");
+        repository.findByVendorId("late-vendor");
+
+        // then
+        verify(batchLoader, times(2)).load("late-vendor");
+    }
 }
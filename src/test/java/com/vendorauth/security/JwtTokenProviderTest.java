@@ -1,6 +1,7 @@
 package com.vendorauth.security;
 
 import com.vendorauth.config.TestSecurityConfig;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -78,4 +79,32 @@ class JwtTokenProviderTest {
         long expirationTime = tokenProvider.getExpirationDateFromToken(testToken).getTime();
         assertTrue(expirationTime > System.currentTimeMillis());
     }
+
+    @Test
+    void verify_ShouldReturnSubjectExpiryAndAuthorities() {
+        VerifiedToken verified = tokenProvider.verify(testToken);
+        assertEquals(TEST_USERNAME, verified.getSubject());
+        assertTrue(verified.getExpiration().getTime() > System.currentTimeMillis());
+        assertEquals(1, verified.getAuthorities().size());
+        assertEquals("ROLE_" + TEST_ROLE, verified.getAuthorities().get(0).getAuthority());
+    }
+
+    @Test
+    void verify_WithSameRoles_ShouldShareAuthorities() {
+        UserDetails otherUser = User.builder()
+                .username("otheruser")
+                .password("password")
+                .authorities(Collections.singletonList(
+                        new SimpleGrantedAuthority("ROLE_" + TEST_ROLE)))
+                .build();
+        String otherToken = tokenProvider.generateToken(otherUser);
+
+        assertSame(tokenProvider.verify(testToken).getAuthorities(),
+                tokenProvider.verify(otherToken).getAuthorities());
+    }
+
+    @Test
+    void verify_WithInvalidToken_ShouldThrow() {
+        assertThrows(JwtException.class, () -> tokenProvider.verify(testToken + "invalid"));
+    }
 }
@@ -0,0 +1,177 @@
+package com.vendorauth.security;
+
+import com.vendorauth.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private PasswordHashExecutor hashExecutor;
+
+    @AfterEach
+    void tearDown() {
+        hashExecutor.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void call_ShouldReturnResultAndRecordHashTime() {
+        // given
+        hashExecutor = executor(Duration.ofSeconds(5));
+
+        // when
+        String result = hashExecutor.call("bcrypt", () -> "hashed");
+
+        // then
+        assertThat(result).isEqualTo("hashed");
+        assertThat(meterRegistry.get("password.hash").tag("encoder", "bcrypt").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hash.queue").tag("encoder", "bcrypt").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hash.queued").tag("encoder", "bcrypt").gauge().value()).isZero();
+    }
+
+    @Test
+    void call_WhenPoolAndQueueAreFull_ShouldRejectWithRetryAfter() throws Exception {
+        // given: one hash running and one queued
+        hashExecutor = executor(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> running = callers.submit(() -> hashExecutor.call("shiro", () -> {
+            started.countDown();
+            await(release);
+            return "running";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> queued = callers.submit(() -> hashExecutor.call("shiro", () -> "queued"));
+        awaitQueued(1);
+
+        // when / then
+        assertThatThrownBy(() -> hashExecutor.call("shiro", () -> "rejected"))
+                .isInstanceOf(PasswordHashingUnavailableException.class)
+                .extracting(e -> ((PasswordHashingUnavailableException) e).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(1));
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+        assertThat(rejected("queue_full")).isEqualTo(1);
+    }
+
+    @Test
+    void call_WhenQueuedLongerThanMaxQueueTime_ShouldReject() throws Exception {
+        // given: a hash stuck in the queue behind a slow one
+        hashExecutor = executor(Duration.ofMillis(300));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> running = callers.submit(() -> hashExecutor.call("shiro", () -> {
+            started.countDown();
+            await(release);
+            return "running";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> queued = callers.submit(() -> hashExecutor.call("shiro", () -> "queued"));
+        awaitQueued(1);
+
+        // when
+        Thread.sleep(600);
+        release.countDown();
+
+        // then
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PasswordHashingUnavailableException.class);
+        assertThat(rejected("queue_time")).isEqualTo(1);
+    }
+
+    @Test
+    void call_WhenQueuedLongerThanMaxQueueTime_ShouldRejectWithoutWaitingForBacklog() throws Exception {
+        // given: a hash queued behind one that does not finish during the test
+        hashExecutor = executor(Duration.ofMillis(300));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> running = callers.submit(() -> hashExecutor.call("shiro", () -> {
+            started.countDown();
+            await(release);
+            return "running";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        long start = System.nanoTime();
+
+        // when / then
+        assertThatThrownBy(() -> hashExecutor.call("shiro", () -> "queued"))
+                .isInstanceOf(PasswordHashingUnavailableException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(queuedGauge()).isZero();
+        assertThat(rejected("queue_time")).isEqualTo(1);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+    }
+
+    @Test
+    void call_WhenInterruptedWhileQueued_ShouldNotLeaveHashCountedAsQueued() throws Exception {
+        // given
+        hashExecutor = executor(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> running = callers.submit(() -> hashExecutor.call("shiro", () -> {
+            started.countDown();
+            await(release);
+            return "running";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> queued = callers.submit(() -> hashExecutor.call("shiro", () -> "queued"));
+        awaitQueued(1);
+
+        // when
+        queued.cancel(true);
+        release.countDown();
+
+        // then
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queuedGauge() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(queuedGauge()).isZero();
+    }
+
+    private double queuedGauge() {
+        return meterRegistry.get("password.hash.queued").tag("encoder", "shiro").gauge().value();
+    }
+
+    private PasswordHashExecutor executor(Duration maxQueueTime) {
+        return new PasswordHashExecutor(meterRegistry, 1, 1, maxQueueTime, Duration.ofSeconds(1));
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("password.hash.rejected").tag("encoder", "shiro").tag("reason", reason)
+                .counter().count();
+    }
+
+    private void awaitQueued(int tasks) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", "password-hash").gauge().value() < tasks
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
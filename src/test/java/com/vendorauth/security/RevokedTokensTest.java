@@ -0,0 +1,115 @@
+package com.vendorauth.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class RevokedTokensTest {
+
+    private static final String SECRET = "revokedTokensTestSecretThatIsLongEnoughForHs512Signatures0123456789";
+
+    private JwtTokenProvider tokenProvider;
+    private VerifiedTokenCache tokenCache;
+    private RevokedTokens revokedTokens;
+    private JwtAuthenticationFilter filter;
+    private Date expiration;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        tokenProvider.setJwtSecret(SECRET);
+        tokenCache = new VerifiedTokenCache(tokenProvider, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        revokedTokens = new RevokedTokens(new SimpleMeterRegistry(), Optional.of(tokenCache), Duration.ofDays(7));
+        filter = new JwtAuthenticationFilter(tokenProvider, null, tokenCache, revokedTokens);
+        expiration = new Date(System.currentTimeMillis() + 60_000);
+        token = tokenProvider.generateToken("testuser", Map.of("roles", List.of("ROLE_USER")), expiration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void filter_WithRevokedCachedToken_ShouldReturnUnauthorized() throws Exception {
+        // given: the token has been verified and cached
+        assertThat(filter(token).getStatus()).isEqualTo(200);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("testuser");
+        SecurityContextHolder.clearContext();
+
+        // when
+        revokedTokens.revoke(token, expiration);
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletResponse response = filter(token, chain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(chain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void isRevoked_ShouldOnlyMatchRevokedTokens() {
+        // given
+        String other = tokenProvider.generateToken("otheruser", Map.of(), expiration);
+
+        // when
+        revokedTokens.revoke(token, expiration);
+
+        // then
+        assertThat(revokedTokens.isRevoked(token)).isTrue();
+        assertThat(revokedTokens.isRevoked(other)).isFalse();
+    }
+
+    @Test
+    void isRevoked_WithTokenIssuedInSameSecondForSameUser_ShouldBeFalse() {
+        // given: same subject, claims and expiry as the revoked token
+        String reissued = tokenProvider.generateToken("testuser", Map.of("roles", List.of("ROLE_USER")), expiration);
+
+        // when
+        revokedTokens.revoke(token, expiration);
+
+        // then
+        assertThat(reissued).isNotEqualTo(token);
+        assertThat(revokedTokens.isRevoked(reissued)).isFalse();
+    }
+
+    @Test
+    void isRevoked_AfterTokenExpiry_ShouldForgetToken() {
+        // when
+        revokedTokens.revoke(token, new Date(System.currentTimeMillis() - 1_000));
+
+        // then
+        assertThat(revokedTokens.isRevoked(token)).isFalse();
+    }
+
+    private MockHttpServletResponse filter(String jwt) throws Exception {
+        return filter(jwt, mock(FilterChain.class));
+    }
+
+    private MockHttpServletResponse filter(String jwt, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/authenticate/health");
+        request.addHeader(JwtAuthenticationFilter.HEADER_STRING, JwtAuthenticationFilter.TOKEN_PREFIX + jwt);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,137 @@
+package com.vendorauth.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.shiro.crypto.hash.Sha256Hash;
+import org.apache.shiro.lang.util.ByteSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShiroPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashExecutor hashExecutor;
+    private ShiroPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hashExecutor = new PasswordHashExecutor(meterRegistry, 2, 10, Duration.ofSeconds(5), Duration.ofSeconds(1));
+        encoder = encoderWithIterations(10000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashExecutor.shutdown();
+    }
+
+    @Test
+    void matches_WithCorrectPassword_ShouldHashOnceAndThenHitCache() {
+        // given
+        String encoded = encoder.encode("s3cret");
+
+        // when
+        boolean first = encoder.matches("s3cret", encoded);
+        boolean second = encoder.matches("s3cret", encoded);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(cacheGets("hit")).isEqualTo(1);
+        assertThat(cacheGets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void matches_WithWrongPassword_ShouldNotBeCached() {
+        // given
+        String encoded = encoder.encode("s3cret");
+
+        // when
+        boolean first = encoder.matches("wrong", encoded);
+        boolean second = encoder.matches("wrong", encoded);
+
+        // then
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        assertThat(cacheGets("hit")).isZero();
+    }
+
+    @Test
+    void matches_AfterStoredHashChanges_ShouldNotUseOldEntry() {
+        // given
+        String oldEncoded = encoder.encode("s3cret");
+        encoder.matches("s3cret", oldEncoded);
+        String newEncoded = encoder.encode("changed");
+
+        // when
+        boolean matches = encoder.matches("s3cret", newEncoded);
+
+        // then
+        assertThat(matches).isFalse();
+    }
+
+    @Test
+    void encode_ShouldEmbedIterationsAndRandomSalt() {
+        // when
+        String first = encoder.encode("s3cret");
+        String second = encoder.encode("s3cret");
+
+        // then
+        assertThat(first).startsWith(ShiroPasswordEncoder.PREFIX + "10000$");
+        assertThat(first).isNotEqualTo(second);
+        assertThat(encoder.matches("s3cret", second)).isTrue();
+        assertThat(encoder.upgradeEncoding(first)).isFalse();
+    }
+
+    @Test
+    void matches_WithLegacyUnsaltedHash_ShouldVerifyAndRequestUpgrade() {
+        // given
+        String legacy = new Sha256Hash("s3cret", ByteSource.Util.bytes(new byte[0]),
+                ShiroPasswordEncoder.LEGACY_ITERATIONS).toHex();
+
+        // when
+        boolean matches = encoder.matches("s3cret", legacy);
+
+        // then
+        assertThat(matches).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    void upgradeEncoding_WhenIterationsWereRaised_ShouldRequestRehash() {
+        // given
+        String encoded = encoder.encode("s3cret");
+        ShiroPasswordEncoder stronger = encoderWithIterations(20000);
+
+        // when
+        boolean upgrade = stronger.upgradeEncoding(encoded);
+
+        // then
+        assertThat(upgrade).isTrue();
+        assertThat(stronger.matches("s3cret", encoded)).isTrue();
+        assertThat(stronger.upgradeEncoding(stronger.encode("s3cret"))).isFalse();
+    }
+
+    @Test
+    void calibrate_ShouldNotGoBelowMinimumIterations() {
+        // when
+        int iterations = ShiroPasswordEncoder.calibrate(Duration.ofNanos(1), 30000);
+
+        // then
+        assertThat(iterations).isEqualTo(30000);
+    }
+
+    private ShiroPasswordEncoder encoderWithIterations(int iterations) {
+        return new ShiroPasswordEncoder(hashExecutor, meterRegistry, Duration.ofMinutes(5), 100,
+                iterations, 1, Duration.ofMillis(1));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "password.verified").tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,156 @@
+package com.vendorauth.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.enums.AuthType;
+import com.vendorauth.repository.VendorConfigRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.DisabledAccountException;
+import org.apache.shiro.authc.IncorrectCredentialsException;
+import org.apache.shiro.authc.UsernamePasswordToken;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VendorConfigRealmTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static SimpleMeterRegistry meterRegistry;
+    private static PasswordHashExecutor hashExecutor;
+    private static ShiroPasswordEncoder passwordEncoder;
+    private static String passwordHash;
+
+    private VendorConfigRepository vendorConfigRepository;
+    private CaffeineShiroCacheManager cacheManager;
+    private VendorConfigRealm realm;
+
+    @BeforeAll
+    static void setUpEncoder() {
+        meterRegistry = new SimpleMeterRegistry();
+        hashExecutor = new PasswordHashExecutor(meterRegistry, 1, 10, Duration.ofSeconds(5), Duration.ofSeconds(1));
+        passwordEncoder = new ShiroPasswordEncoder(hashExecutor, meterRegistry, Duration.ofMinutes(5), 100,
+                1000, 1, Duration.ofMillis(1));
+        passwordHash = passwordEncoder.encode("s3cret");
+    }
+
+    @AfterAll
+    static void tearDownEncoder() {
+        hashExecutor.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        vendorConfigRepository = mock(VendorConfigRepository.class);
+        cacheManager = new CaffeineShiroCacheManager(new SimpleMeterRegistry(), Duration.ofMinutes(5), 100);
+        realm = new VendorConfigRealm(vendorConfigRepository, passwordEncoder, new ObjectMapper(), cacheManager);
+    }
+
+    @Test
+    void getAuthenticationInfo_WithValidPassword_ShouldAuthenticateAndCache() {
+        // given
+        when(vendorConfigRepository.findByVendorId("vendor-1")).thenReturn(Optional.of(vendor(true, VERSION)));
+
+        // when
+        AuthenticationInfo info = realm.getAuthenticationInfo(new UsernamePasswordToken("vendor-1", "s3cret"));
+
+        // then
+        assertThat(info.getPrincipals().getPrimaryPrincipal()).isEqualTo("vendor-1");
+        assertThat(authenticationCache().keys()).containsExactly("vendor-1@" + VERSION);
+        assertThat(realm.hasRole(info.getPrincipals(), VendorConfigRealm.ROLE_VENDOR)).isTrue();
+        assertThat(realm.isPermitted(info.getPrincipals(), "vendor:authenticate:vendor-1")).isTrue();
+        assertThat(realm.isPermitted(info.getPrincipals(), "vendor:authenticate:vendor-2")).isFalse();
+        assertThat(cacheManager.getCache(VendorConfigRealm.AUTHORIZATION_CACHE).size()).isEqualTo(1);
+        verify(vendorConfigRepository, never()).save(any());
+    }
+
+    @Test
+    void getAuthenticationInfo_WithOutdatedHash_ShouldSaveRehashedPassword() throws Exception {
+        // given
+        ShiroPasswordEncoder cheaperEncoder = new ShiroPasswordEncoder(hashExecutor, meterRegistry,
+                Duration.ofMinutes(5), 100, 500, 1, Duration.ofMillis(1));
+        VendorConfig original = vendor(true, VERSION);
+        String outdatedJson = "{\"passwordHash\":\"" + cheaperEncoder.encode("s3cret") + "\"}";
+        original.setAuthDetailsJson(outdatedJson);
+        when(vendorConfigRepository.findByVendorId("vendor-1")).thenReturn(Optional.of(original));
+
+        // when
+        realm.getAuthenticationInfo(new UsernamePasswordToken("vendor-1", "s3cret"));
+
+        // then
+        ArgumentCaptor<VendorConfig> saved = ArgumentCaptor.forClass(VendorConfig.class);
+        verify(vendorConfigRepository).save(saved.capture());
+        String newHash = new ObjectMapper().readTree(saved.getValue().getAuthDetailsJson())
+                .path("passwordHash").asText();
+        assertThat(newHash).startsWith(ShiroPasswordEncoder.PREFIX + "1000$");
+        assertThat(passwordEncoder.matches("s3cret", newHash)).isTrue();
+        assertThat(saved.getValue()).isNotSameAs(original);
+        assertThat(original.getAuthDetailsJson()).isEqualTo(outdatedJson);
+    }
+
+    @Test
+    void getAuthenticationInfo_WithWrongPassword_ShouldFail() {
+        // given
+        when(vendorConfigRepository.findByVendorId("vendor-1")).thenReturn(Optional.of(vendor(true, VERSION)));
+
+        // when / then
+        assertThatThrownBy(() -> realm.getAuthenticationInfo(new UsernamePasswordToken("vendor-1", "wrong")))
+                .isInstanceOf(IncorrectCredentialsException.class);
+    }
+
+    @Test
+    void getAuthenticationInfo_AfterVendorChanged_ShouldNotUseEntryOfPreviousVersion() {
+        // given
+        VendorConfig original = vendor(true, VERSION);
+        when(vendorConfigRepository.findByVendorId("vendor-1")).thenReturn(Optional.of(original));
+        realm.getAuthenticationInfo(new UsernamePasswordToken("vendor-1", "s3cret"));
+        VendorConfig changed = vendor(true, VERSION.plusMinutes(1));
+        changed.setAuthDetailsJson("{\"passwordHash\":\"" + passwordEncoder.encode("rotated") + "\"}");
+        when(vendorConfigRepository.findByVendorId("vendor-1")).thenReturn(Optional.of(changed));
+
+        // when / then
+        assertThatThrownBy(() -> realm.getAuthenticationInfo(new UsernamePasswordToken("vendor-1", "s3cret")))
+                .isInstanceOf(IncorrectCredentialsException.class);
+        assertThat(realm.getAuthenticationInfo(new UsernamePasswordToken("vendor-1", "rotated"))).isNotNull();
+    }
+
+    @Test
+    void getAuthenticationInfo_WithInactiveVendor_ShouldFail() {
+        // given
+        when(vendorConfigRepository.findByVendorId("vendor-1")).thenReturn(Optional.of(vendor(false, VERSION)));
+
+        // when / then
+        assertThatThrownBy(() -> realm.getAuthenticationInfo(new UsernamePasswordToken("vendor-1", "s3cret")))
+                .isInstanceOf(DisabledAccountException.class);
+        assertThat(authenticationCache().size()).isZero();
+    }
+
+    private org.apache.shiro.cache.Cache<Object, Object> authenticationCache() {
+        return cacheManager.getCache(VendorConfigRealm.AUTHENTICATION_CACHE);
+    }
+
+    private static VendorConfig vendor(boolean active, LocalDateTime updatedAt) {
+        VendorConfig config = new VendorConfig();
+        config.setVendorId("vendor-1");
+        config.setAuthType(AuthType.BASIC);
+        config.setAuthDetailsJson("{\"passwordHash\":\"" + passwordHash + "\"}");
+        config.setActive(active);
+        config.setUpdatedAt(updatedAt);
+        return config;
+    }
+}
@@ -0,0 +1,119 @@
+package com.vendorauth.security;
+
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.enums.AuthType;
+import com.vendorauth.repository.VendorConfigRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VendorUserCacheTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private VendorConfigRepository vendorConfigRepository;
+
+    private VendorUserCache userCache;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new VendorUserCache(vendorConfigRepository, new SimpleMeterRegistry(), Duration.ofMinutes(5), 100);
+        user = new User("vendor-1", "{noop}password", Collections.emptyList());
+        when(vendorConfigRepository.findByVendorId("vendor-1")).thenReturn(Optional.of(vendor(true, VERSION)));
+        userCache.putUserInCache(user);
+    }
+
+    @Test
+    void getUserFromCache_WithUnchangedVendor_ShouldReturnCachedUser() {
+        // when
+        UserDetails cached = userCache.getUserFromCache("vendor-1");
+
+        // then
+        assertThat(cached).isNotSameAs(user);
+        assertThat(cached.getUsername()).isEqualTo("vendor-1");
+        assertThat(cached.getPassword()).isEqualTo("{noop}password");
+    }
+
+    @Test
+    void authenticate_TwiceThroughProviderManager_ShouldNotEraseCachedCredentials() {
+        // given
+        userCache.removeUserFromCache("vendor-1");
+        AtomicInteger loads = new AtomicInteger();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(username -> {
+            loads.incrementAndGet();
+            return new User(username, "{noop}password", Collections.emptyList());
+        });
+        provider.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        provider.setUserCache(userCache);
+        ProviderManager authenticationManager = new ProviderManager(provider);
+
+        // when
+        Authentication first = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("vendor-1", "password"));
+        Authentication second = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("vendor-1", "password"));
+
+        // then
+        assertThat(first.isAuthenticated()).isTrue();
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void getUserFromCache_AfterVendorChanged_ShouldDropEntry() {
+        // given
+        when(vendorConfigRepository.findByVendorId("vendor-1"))
+                .thenReturn(Optional.of(vendor(true, VERSION.plusMinutes(1))));
+
+        // when
+        UserDetails cached = userCache.getUserFromCache("vendor-1");
+
+        // then
+        assertThat(cached).isNull();
+        assertThat(userCache.getUserFromCache("vendor-1")).isNull();
+    }
+
+    @Test
+    void getUserFromCache_AfterVendorDeactivated_ShouldDropEntry() {
+        // given
+        when(vendorConfigRepository.findByVendorId("vendor-1")).thenReturn(Optional.of(vendor(false, VERSION)));
+
+        // when
+        UserDetails cached = userCache.getUserFromCache("vendor-1");
+
+        // then
+        assertThat(cached).isNull();
+    }
+
+    private static VendorConfig vendor(boolean active, LocalDateTime updatedAt) {
+        VendorConfig config = new VendorConfig();
+        config.setVendorId("vendor-1");
+        config.setAuthType(AuthType.API_KEY);
+        config.setActive(active);
+        config.setUpdatedAt(updatedAt);
+        return config;
+    }
+}
@@ -0,0 +1,73 @@
+package com.vendorauth.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "verifiedTokenCacheTestSecretThatIsLongEnoughForHs512Signatures0123456789";
+
+    private JwtTokenProvider tokenProvider;
+    private VerifiedTokenCache tokenCache;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = spy(new JwtTokenProvider());
+        tokenProvider.setJwtSecret(SECRET);
+        tokenCache = new VerifiedTokenCache(tokenProvider, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        token = tokenProvider.generateToken("testuser", Map.of("roles", List.of("ROLE_USER")),
+                new Date(System.currentTimeMillis() + 60_000));
+    }
+
+    @Test
+    void getAuthentication_WithRepeatedToken_ShouldVerifyOnce() {
+        // when
+        Authentication first = tokenCache.getAuthentication(token, tokenProvider);
+        Authentication second = tokenCache.getAuthentication(token, tokenProvider);
+
+        // then
+        assertThat(second.getName()).isEqualTo("testuser");
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(second).isNotSameAs(first);
+        verify(tokenProvider, times(1)).verify(anyString());
+    }
+
+    @Test
+    void getAuthentication_AfterInvalidate_ShouldVerifyAgain() {
+        // given
+        tokenCache.getAuthentication(token, tokenProvider);
+
+        // when
+        tokenCache.invalidate(token);
+        tokenCache.getAuthentication(token, tokenProvider);
+
+        // then
+        verify(tokenProvider, times(2)).verify(anyString());
+    }
+
+    @Test
+    void getAuthentication_AfterSigningKeyChange_ShouldVerifyAgain() {
+        // given
+        tokenCache.getAuthentication(token, tokenProvider);
+
+        // when
+        tokenProvider.setJwtSecret(SECRET + "-rotated");
+        tokenProvider.setJwtSecret(SECRET);
+        tokenCache.getAuthentication(token, tokenProvider);
+
+        // then
+        verify(tokenProvider, times(2)).verify(anyString());
+    }
+}
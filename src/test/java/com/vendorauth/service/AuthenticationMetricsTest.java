@@ -0,0 +1,58 @@
+package com.vendorauth.service;
+
+import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.enums.AuthType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthenticationMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthenticationMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new AuthenticationMetrics(meterRegistry, 2);
+    }
+
+    @Test
+    void recordOutcome_BeyondVendorTagCap_ShouldTagOther() {
+        // given
+        long start = System.nanoTime();
+
+        // when
+        for (String vendorId : new String[] {"vendor-1", "vendor-2", "vendor-3", "vendor-1"}) {
+            metrics.recordOutcome(vendor(vendorId), AuthenticationResponse.success(vendorId, "ok"), start);
+        }
+
+        // then
+        assertThat(meterRegistry.get("vendor.auth.requests").timers())
+                .extracting(timer -> timer.getId().getTag("vendorId"))
+                .containsExactlyInAnyOrder("vendor-1", "vendor-2", AuthenticationMetrics.OTHER_VENDOR);
+        assertThat(meterRegistry.get("vendor.auth.requests").tag("vendorId", "vendor-1").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void recordOutcome_WithSuccess_ShouldNotCountFailure() {
+        // when
+        AuthenticationResponse response = metrics.recordOutcome(vendor("vendor-1"),
+                AuthenticationResponse.success("vendor-1", "ok"), System.nanoTime());
+
+        // then
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(meterRegistry.get("vendor.auth.requests")
+                .tags("outcome", "success", "errorCode", "none", "authType", "API_KEY")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("vendor.auth.failures").counters()).isEmpty();
+    }
+
+    private static VendorConfig vendor(String vendorId) {
+        return VendorConfig.builder().vendorId(vendorId).authType(AuthType.API_KEY).build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.vendorauth.service;
+
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.enums.AuthType;
+import com.vendorauth.exception.AuthenticationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticatorProfileCacheTest {
+
+    @Mock
+    private VendorAuthenticator authenticator;
+
+    private AuthenticatorProfileCache profileCache;
+    private VendorConfig config;
+
+    @BeforeEach
+    void setUp() {
+        profileCache = new AuthenticatorProfileCache();
+        config = VendorConfig.builder()
+                .vendorId("test-vendor")
+                .vendorName("Test Vendor")
+                .authType(AuthType.API_KEY)
+                .updatedAt(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build();
+    }
+
+    @Test
+    void getProfile_WithSameVersion_ShouldCompileOnce() {
+        // given
+        AuthenticatorProfile profile = () -> config;
+        when(authenticator.compile(config)).thenReturn(profile);
+
+        // when
+        AuthenticatorProfile first = profileCache.getProfile(authenticator, config);
+        AuthenticatorProfile second = profileCache.getProfile(authenticator, config);
+
+        // then
+        assertThat(first).isSameAs(profile);
+        assertThat(second).isSameAs(profile);
+        verify(authenticator, times(1)).compile(any());
+    }
+
+    @Test
+    void getProfile_WithNewVersion_ShouldRecompile() {
+        // given
+        VendorConfig updated = VendorConfig.builder()
+                .vendorId("test-vendor")
+                .vendorName("Test Vendor")
+                .authType(AuthType.API_KEY)
+                .updatedAt(config.getUpdatedAt().plusMinutes(1))
+                .build();
+        when(authenticator.compile(any())).thenAnswer(invocation -> {
+            VendorConfig compiled = invocation.getArgument(0);
+            return (AuthenticatorProfile) () -> compiled;
+        });
+
+        // when
+        profileCache.getProfile(authenticator, config);
+        AuthenticatorProfile profile = profileCache.getProfile(authenticator, updated);
+
+        // then
+        assertThat(profile.getConfig()).isSameAs(updated);
+        verify(authenticator, times(2)).compile(any());
+    }
+
+    @Test
+    void getProfile_WithInvalidConfig_ShouldCacheFailure() {
+        // given
+        when(authenticator.compile(config))
+                .thenThrow(new AuthenticationException("test-vendor", "INVALID_CONFIG", "bad config"));
+
+        // when / then
+        assertThatThrownBy(() -> profileCache.getProfile(authenticator, config))
+                .isInstanceOf(AuthenticationException.class);
+        assertThatThrownBy(() -> profileCache.getProfile(authenticator, config))
+                .isInstanceOf(AuthenticationException.class)
+                .hasMessage("bad config");
+        verify(authenticator, times(1)).compile(any());
+    }
+}
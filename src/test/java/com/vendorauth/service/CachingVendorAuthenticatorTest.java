@@ -0,0 +1,261 @@
+package com.vendorauth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vendorauth.dto.AuthenticationRequest;
+import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.enums.AuthType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingVendorAuthenticatorTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private VendorAuthenticator delegate;
+
+    private CachingVendorAuthenticator authenticator;
+
+    @BeforeEach
+    void setUp() {
+        AuthenticationResultCache resultCache = new AuthenticationResultCache(
+                new SimpleMeterRegistry(), true, 100, Duration.ofHours(1), Duration.ofSeconds(30));
+        authenticator = new CachingVendorAuthenticator(delegate, resultCache, new ObjectMapper());
+    }
+
+    @Test
+    void authenticate_WithSameCredentials_ShouldCallVendorOnce() {
+        // given
+        AuthenticatorProfile profile = compile(vendor("{\"cacheTtlSeconds\": 60}", VERSION));
+        when(delegate.authenticate(any(AuthenticatorProfile.class), any()))
+                .thenReturn(AuthenticationResponse.success("vendor-1", "ok"));
+
+        // when
+        AuthenticationResponse first = authenticator.authenticate(profile, request("user", "secret"));
+        AuthenticationResponse second = authenticator.authenticate(profile, request("user", "secret"));
+        authenticator.authenticate(profile, request("user", "other"));
+
+        // then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getMessage()).isEqualTo(first.getMessage());
+        verify(delegate, times(2)).authenticate(any(AuthenticatorProfile.class), any());
+    }
+
+    @Test
+    void authenticate_AfterVendorChanged_ShouldCallVendorAgain() {
+        // given
+        when(delegate.authenticate(any(AuthenticatorProfile.class), any()))
+                .thenReturn(AuthenticationResponse.success("vendor-1", "ok"));
+        authenticator.authenticate(compile(vendor("{\"cacheTtlSeconds\": 60}", VERSION)), request("user", "secret"));
+
+        // when
+        authenticator.authenticate(compile(vendor("{\"cacheTtlSeconds\": 60}", VERSION.plusMinutes(1))),
+                request("user", "secret"));
+
+        // then
+        verify(delegate, times(2)).authenticate(any(AuthenticatorProfile.class), any());
+    }
+
+    @Test
+    void authenticate_WithFailureOrNoTtl_ShouldNotCache() {
+        // given
+        AuthenticatorProfile optedIn = compile(vendor("{\"cacheTtlSeconds\": 60}", VERSION));
+        AuthenticatorProfile optedOut = compile(vendor("{}", VERSION.plusMinutes(1)));
+        when(delegate.authenticate(any(AuthenticatorProfile.class), any()))
+                .thenReturn(AuthenticationResponse.failure("vendor-1", "denied", "INVALID_CREDENTIALS"))
+                .thenReturn(AuthenticationResponse.failure("vendor-1", "denied", "INVALID_CREDENTIALS"))
+                .thenReturn(AuthenticationResponse.success("vendor-1", "ok"));
+
+        // when
+        authenticator.authenticate(optedIn, request("user", "secret"));
+        authenticator.authenticate(optedIn, request("user", "secret"));
+        authenticator.authenticate(optedOut, request("user", "secret"));
+        authenticator.authenticate(optedOut, request("user", "secret"));
+
+        // then
+        verify(delegate, times(4)).authenticate(any(AuthenticatorProfile.class), any());
+    }
+
+    @Test
+    void authenticate_WithTokenExpiry_ShouldCacheOnlyUntilShortlyBeforeExpiry() {
+        // given
+        AuthenticatorProfile profile = compile(vendor("{}", VERSION));
+        AuthenticationResponse longLived = AuthenticationResponse.success("vendor-1", "ok");
+        longLived.setTokenExpiry(LocalDateTime.now().plusMinutes(10));
+        AuthenticationResponse nearlyExpired = AuthenticationResponse.success("vendor-1", "ok");
+        nearlyExpired.setTokenExpiry(LocalDateTime.now().plusSeconds(10));
+        when(delegate.authenticate(any(AuthenticatorProfile.class), any()))
+                .thenReturn(longLived, nearlyExpired, nearlyExpired);
+
+        // when
+        authenticator.authenticate(profile, request("user", "secret"));
+        AuthenticationResponse cached = authenticator.authenticate(profile, request("user", "secret"));
+        authenticator.authenticate(profile, request("other", "secret"));
+        authenticator.authenticate(profile, request("other", "secret"));
+
+        // then
+        assertThat(cached.getTokenExpiry()).isEqualTo(longLived.getTokenExpiry());
+        verify(delegate, times(3)).authenticate(any(AuthenticatorProfile.class), any());
+    }
+
+    @Test
+    void authenticate_WithAuthorizationCode_ShouldNotCache() {
+        // given
+        AuthenticatorProfile profile = compile(vendor("{\"cacheTtlSeconds\": 60}", VERSION));
+        AuthenticationRequest request = request("user", "secret");
+        request.setAuthorizationCode("code-1");
+        when(delegate.authenticate(any(AuthenticatorProfile.class), any()))
+                .thenReturn(AuthenticationResponse.success("vendor-1", "ok"));
+
+        // when
+        authenticator.authenticate(profile, request);
+        authenticator.authenticate(profile, request);
+
+        // then
+        verify(delegate, times(2)).authenticate(any(AuthenticatorProfile.class), any());
+    }
+
+    @Test
+    void authenticate_FromCache_ShouldReturnOwnCopyWithCurrentTimestamp() {
+        // given
+        AuthenticatorProfile profile = compile(vendor("{\"cacheTtlSeconds\": 60}", VERSION));
+        AuthenticationResponse vendorResponse = AuthenticationResponse.success("vendor-1", "ok");
+        vendorResponse.setTimestamp(LocalDateTime.now().minusMinutes(5));
+        vendorResponse.setAdditionalData(new HashMap<>(Map.of("scope", "read")));
+        when(delegate.authenticate(any(AuthenticatorProfile.class), any())).thenReturn(vendorResponse);
+        LocalDateTime before = LocalDateTime.now();
+
+        // when
+        AuthenticationResponse first = authenticator.authenticate(profile, request("user", "secret"));
+        first.setMessage("changed by caller");
+        first.getAdditionalData().put("scope", "admin");
+        AuthenticationResponse second = authenticator.authenticate(profile, request("user", "secret"));
+
+        // then
+        assertThat(second).isNotSameAs(first).isNotSameAs(vendorResponse);
+        assertThat(second.getMessage()).isEqualTo("ok");
+        assertThat(second.getAdditionalData()).containsEntry("scope", "read");
+        assertThat(second.getTimestamp()).isAfterOrEqualTo(before);
+        verify(delegate, times(1)).authenticate(any(AuthenticatorProfile.class), any());
+    }
+
+    @Test
+    void authenticate_WithConcurrentMisses_ShouldCallVendorOnce() throws Exception {
+        // given
+        AuthenticatorProfile profile = compile(vendor("{\"cacheTtlSeconds\": 60}", VERSION));
+        CountDownLatch vendorCalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.authenticate(any(AuthenticatorProfile.class), any())).thenAnswer(invocation -> {
+            vendorCalled.countDown();
+            release.await();
+            return AuthenticationResponse.success("vendor-1", "ok");
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+
+        try {
+            // when
+            List<Future<AuthenticationResponse>> responses = new ArrayList<>();
+            responses.add(callers.submit(() -> authenticator.authenticate(profile, request("user", "secret"))));
+            assertThat(vendorCalled.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 3; i++) {
+                responses.add(callers.submit(() -> authenticator.authenticate(profile, request("user", "secret"))));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            // then
+            for (Future<AuthenticationResponse> response : responses) {
+                assertThat(response.get(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+            }
+            verify(delegate, times(1)).authenticate(any(AuthenticatorProfile.class), any());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void authenticateAsync_WithConcurrentMisses_ShouldCallVendorOnce() {
+        // given
+        AuthenticatorProfile profile = compile(vendor("{\"cacheTtlSeconds\": 60}", VERSION));
+        CompletableFuture<AuthenticationResponse> vendorCall = new CompletableFuture<>();
+        when(delegate.authenticateAsync(any(AuthenticatorProfile.class), any(), any())).thenReturn(vendorCall);
+
+        // when
+        CompletableFuture<AuthenticationResponse> first =
+                authenticator.authenticateAsync(profile, request("user", "secret"), Runnable::run);
+        CompletableFuture<AuthenticationResponse> second =
+                authenticator.authenticateAsync(profile, request("user", "secret"), Runnable::run);
+        vendorCall.complete(AuthenticationResponse.success("vendor-1", "ok"));
+
+        // then
+        assertThat(first.join().isSuccess()).isTrue();
+        assertThat(second.join()).isNotSameAs(first.join());
+        verify(delegate, times(1)).authenticateAsync(any(AuthenticatorProfile.class), any(), any());
+    }
+
+    @Test
+    void authenticateAsync_AfterVendorCallFailed_ShouldCallVendorAgain() {
+        // given
+        AuthenticatorProfile profile = compile(vendor("{\"cacheTtlSeconds\": 60}", VERSION));
+        when(delegate.authenticateAsync(any(AuthenticatorProfile.class), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("vendor down")))
+                .thenReturn(CompletableFuture.completedFuture(AuthenticationResponse.success("vendor-1", "ok")));
+
+        // when
+        CompletableFuture<AuthenticationResponse> failed =
+                authenticator.authenticateAsync(profile, request("user", "secret"), Runnable::run);
+        AuthenticationResponse retried =
+                authenticator.authenticateAsync(profile, request("user", "secret"), Runnable::run).join();
+
+        // then
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(retried.isSuccess()).isTrue();
+        verify(delegate, times(2)).authenticateAsync(any(AuthenticatorProfile.class), any(), any());
+    }
+
+    private AuthenticatorProfile compile(VendorConfig config) {
+        when(delegate.compile(config)).thenReturn(() -> config);
+        return authenticator.compile(config);
+    }
+
+    private static VendorConfig vendor(String authDetailsJson, LocalDateTime version) {
+        VendorConfig config = new VendorConfig();
+        config.setVendorId("vendor-1");
+        config.setAuthType(AuthType.BASIC);
+        config.setAuthDetailsJson(authDetailsJson);
+        config.setUpdatedAt(version);
+        return config;
+    }
+
+    private static AuthenticationRequest request(String username, String password) {
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setUsername(username);
+        request.setPassword(password);
+        return request;
+    }
+}
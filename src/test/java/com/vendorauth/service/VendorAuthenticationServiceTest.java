@@ -1,8 +1,12 @@
 package com.vendorauth.service;
 
+import com.vendorauth.dto.AuthenticationRequest;
+import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.dto.BatchAuthenticationRequest;
 import com.vendorauth.entity.VendorConfig;
 import com.vendorauth.enums.AuthType;
 import com.vendorauth.repository.VendorConfigRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,9 +14,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +41,7 @@ class VendorAuthenticationServiceTest {
 
     private VendorConfig vendor1;
     private VendorConfig vendor2;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @BeforeEach
     void setUp() {
@@ -180,4 +192,161 @@ class VendorAuthenticationServiceTest {
         assertThat(vendors.get(0).getAuthType()).isEqualTo(AuthType.OAUTH2);
         verify(vendorConfigRepository, times(1)).findByAuthType(AuthType.OAUTH2);
     }
+
+    @Test
+    void authenticateAsync_ShouldRunVendorCallOnVendorCallExecutor() throws Exception {
+        // given
+        VendorAuthenticator authenticator = realDefaultsAuthenticator();
+        AtomicReference<String> vendorCallThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            vendorCallThread.set(Thread.currentThread().getName());
+            return AuthenticationResponse.success("test-vendor-1", "ok");
+        }).when(authenticator).authenticate(any(AuthenticatorProfile.class), any());
+        VendorCallExecutor executor = new VendorCallExecutor(new SimpleMeterRegistry(), 2, 10, false);
+        VendorAuthenticationService service = serviceWith(authenticator, executor);
+        when(vendorConfigRepository.findByVendorId("test-vendor-1")).thenReturn(Optional.of(vendor1));
+
+        // when
+        AuthenticationResponse response = service
+                .authenticateAsync("test-vendor-1", new AuthenticationRequest())
+                .get(5, TimeUnit.SECONDS);
+
+        // then
+        assertTrue(response.isSuccess());
+        assertThat(vendorCallThread.get()).startsWith("vendor-call-");
+        executor.shutdown();
+    }
+
+    @Test
+    void authenticateAsync_WithSaturatedExecutor_ShouldReturnServiceBusy() throws Exception {
+        // given
+        VendorAuthenticator authenticator = realDefaultsAuthenticator();
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return AuthenticationResponse.success("test-vendor-1", "ok");
+        }).when(authenticator).authenticate(any(AuthenticatorProfile.class), any());
+        VendorCallExecutor executor = new VendorCallExecutor(new SimpleMeterRegistry(), 1, 1, false);
+        VendorAuthenticationService service = serviceWith(authenticator, executor);
+        when(vendorConfigRepository.findByVendorId("test-vendor-1")).thenReturn(Optional.of(vendor1));
+
+        // when: one call running, one queued, the third has no room
+        List<CompletableFuture<AuthenticationResponse>> inFlight = new ArrayList<>();
+        inFlight.add(service.authenticateAsync("test-vendor-1", new AuthenticationRequest()));
+        inFlight.add(service.authenticateAsync("test-vendor-1", new AuthenticationRequest()));
+        AuthenticationResponse rejected = service
+                .authenticateAsync("test-vendor-1", new AuthenticationRequest())
+                .get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        // then
+        assertFalse(rejected.isSuccess());
+        assertEquals(VendorAuthenticationService.SERVICE_BUSY, rejected.getErrorCode());
+        for (CompletableFuture<AuthenticationResponse> future : inFlight) {
+            assertTrue(future.get(5, TimeUnit.SECONDS).isSuccess());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void authenticateBatch_WithSlowVendor_ShouldTimeOutOnlyThatItem() throws Exception {
+        // given
+        VendorConfig slowVendor = new VendorConfig();
+        slowVendor.setId(3L);
+        slowVendor.setVendorId("slow-vendor");
+        slowVendor.setAuthType(AuthType.OAUTH2);
+        slowVendor.setActive(true);
+        CountDownLatch release = new CountDownLatch(1);
+        VendorAuthenticator authenticator = realDefaultsAuthenticator();
+        doAnswer(invocation -> {
+            AuthenticatorProfile profile = invocation.getArgument(0);
+            if ("slow-vendor".equals(profile.getVendorId())) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return AuthenticationResponse.success(profile.getVendorId(), "ok");
+        }).when(authenticator).authenticate(any(AuthenticatorProfile.class), any());
+        VendorCallExecutor executor = new VendorCallExecutor(new SimpleMeterRegistry(), 4, 10, false);
+        VendorAuthenticationService service = serviceWith(authenticator, executor);
+        when(vendorConfigRepository.findByVendorId("slow-vendor")).thenReturn(Optional.of(slowVendor));
+        when(vendorConfigRepository.findByVendorId("test-vendor-1")).thenReturn(Optional.of(vendor1));
+
+        // when
+        List<AuthenticationResponse> results = service.authenticateBatch(List.of(
+                new BatchAuthenticationRequest.Item("slow-vendor", new AuthenticationRequest()),
+                new BatchAuthenticationRequest.Item("test-vendor-1", new AuthenticationRequest())),
+                Duration.ofMillis(200)).get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        // then
+        assertThat(results).extracting(AuthenticationResponse::getVendorId)
+                .containsExactly("slow-vendor", "test-vendor-1");
+        assertEquals(VendorAuthenticationService.VENDOR_TIMEOUT, results.get(0).getErrorCode());
+        assertTrue(results.get(1).isSuccess());
+        executor.shutdown();
+    }
+
+    @Test
+    void authenticate_ShouldRecordOutcomeAndPhasesPerVendor() {
+        // given
+        VendorAuthenticator authenticator = realDefaultsAuthenticator();
+        doReturn(AuthenticationResponse.failure("test-vendor-1", "bad credentials", "INVALID_API_KEY"))
+                .when(authenticator).authenticate(any(AuthenticatorProfile.class), any());
+        VendorCallExecutor executor = new VendorCallExecutor(new SimpleMeterRegistry(), 1, 1, false);
+        VendorAuthenticationService service = serviceWith(authenticator, executor);
+        when(vendorConfigRepository.findByVendorId("test-vendor-1")).thenReturn(Optional.of(vendor1));
+
+        // when
+        service.authenticate("test-vendor-1", new AuthenticationRequest());
+
+        // then
+        assertThat(meterRegistry.get("vendor.auth.requests")
+                .tags("vendorId", "test-vendor-1", "authType", "OAUTH2", "outcome", "failure", "errorCode", "INVALID_API_KEY")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("vendor.auth.failures").tags("errorCode", "INVALID_API_KEY").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("vendor.auth.phase").tag("vendorId", "test-vendor-1").timers())
+                .extracting(timer -> timer.getId().getTag("phase"))
+                .containsExactlyInAnyOrder("config_lookup", "validation", "authenticator");
+        executor.shutdown();
+    }
+
+    @Test
+    void authenticate_WithUnknownVendor_ShouldNotTagCallerSuppliedVendorId() {
+        // given
+        VendorCallExecutor executor = new VendorCallExecutor(new SimpleMeterRegistry(), 1, 1, false);
+        VendorAuthenticationService service = serviceWith(mock(VendorAuthenticator.class), executor);
+        when(vendorConfigRepository.findByVendorId(any())).thenReturn(Optional.empty());
+
+        // when
+        service.authenticate("no-such-vendor-1", new AuthenticationRequest());
+        service.authenticate("no-such-vendor-2", new AuthenticationRequest());
+
+        // then
+        assertThat(meterRegistry.get("vendor.auth.failures").tags("errorCode", "VENDOR_NOT_FOUND").counters())
+                .singleElement()
+                .satisfies(counter -> {
+                    assertThat(counter.getId().getTag("vendorId")).isEqualTo(AuthenticationMetrics.UNKNOWN_VENDOR);
+                    assertThat(counter.count()).isEqualTo(2);
+                });
+        executor.shutdown();
+    }
+
+    private VendorAuthenticationService serviceWith(VendorAuthenticator authenticator, VendorCallExecutor executor) {
+        return new VendorAuthenticationService(
+                vendorConfigRepository,
+                Map.of(AuthType.OAUTH2, authenticator),
+                new AuthenticatorProfileCache(),
+                new VendorCircuitBreakers(20, 10, 50, 100, Duration.ofSeconds(5), Duration.ofSeconds(30), 1),
+                executor,
+                new AuthenticationMetrics(meterRegistry, 100));
+    }
+
+    /**
+     * Authenticator mock whose default interface methods (compile, authenticateAsync) run for real
+     */
+    private static VendorAuthenticator realDefaultsAuthenticator() {
+        VendorAuthenticator authenticator = mock(VendorAuthenticator.class, CALLS_REAL_METHODS);
+        doReturn(true).when(authenticator).isConfigurationValid(any());
+        return authenticator;
+    }
 }
@@ -0,0 +1,92 @@
+package com.vendorauth.service;
+
+import com.vendorauth.exception.AuthenticationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VendorCircuitBreakersTest {
+
+    private VendorCircuitBreakers circuitBreakers;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakers = new VendorCircuitBreakers(4, 4, 50, 100, Duration.ofSeconds(5),
+                Duration.ofMillis(200), 1);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void execute_AfterVendorFailures_ShouldFailFastWithVendorUnavailable() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            callFailingVendor("test-vendor");
+        }
+
+        // when / then
+        assertThatThrownBy(() -> circuitBreakers.execute("test-vendor", calls::incrementAndGet))
+                .isInstanceOf(AuthenticationException.class)
+                .extracting("errorCode").isEqualTo(VendorCircuitBreakers.VENDOR_UNAVAILABLE);
+        assertThat(calls.get()).isEqualTo(4);
+        assertThat(circuitBreakers.snapshot().get("test-vendor").state()).isEqualTo("OPEN");
+    }
+
+    @Test
+    void execute_WithRejectedCredentials_ShouldNotOpen() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> circuitBreakers.execute("test-vendor", () -> {
+                throw new AuthenticationException("test-vendor", "BASIC_AUTH_ERROR", "rejected",
+                        new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
+            })).isInstanceOf(AuthenticationException.class);
+        }
+
+        // when / then
+        assertThat(circuitBreakers.execute("test-vendor", () -> "ok")).isEqualTo("ok");
+        assertThat(circuitBreakers.snapshot().get("test-vendor").state()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    void execute_AfterWaitDuration_ShouldCloseOnSuccessfulProbe() throws Exception {
+        // given
+        for (int i = 0; i < 4; i++) {
+            callFailingVendor("test-vendor");
+        }
+        Thread.sleep(300);
+
+        // when
+        String result = circuitBreakers.execute("test-vendor", () -> "ok");
+
+        // then
+        assertThat(result).isEqualTo("ok");
+        assertThat(circuitBreakers.snapshot().get("test-vendor").state()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    void execute_ShouldIsolateVendors() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            callFailingVendor("failing-vendor");
+        }
+
+        // when / then
+        assertThat(circuitBreakers.execute("healthy-vendor", () -> "ok")).isEqualTo("ok");
+    }
+
+    private void callFailingVendor(String vendorId) {
+        assertThatThrownBy(() -> circuitBreakers.execute(vendorId, () -> {
+            calls.incrementAndGet();
+            throw new AuthenticationException(vendorId, "OAUTH2_AUTH_ERROR", "unavailable",
+                    new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        })).isInstanceOf(AuthenticationException.class);
+    }
+}
@@ -0,0 +1,109 @@
+package com.vendorauth.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vendorauth.dto.AuthenticationRequest;
+import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.entity.VendorApiKey;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.enums.AuthType;
+import com.vendorauth.mapper.VendorApiKeyMapper;
+import com.vendorauth.repository.VendorApiKeyRepository;
+import com.vendorauth.service.AuthenticatorProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyAuthenticatorTest {
+
+    private static final String HMAC_SECRET = "test-api-key-hmac-secret-0123456789abcdef";
+
+    @Mock
+    private VendorApiKeyMapper mapper;
+
+    private VendorApiKeyRepository apiKeyRepository;
+    private ApiKeyAuthenticator authenticator;
+    private AuthenticatorProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        apiKeyRepository = new VendorApiKeyRepository(mapper, new SimpleMeterRegistry(), HMAC_SECRET,
+                Duration.ofMinutes(10));
+        authenticator = new ApiKeyAuthenticator(new ObjectMapper(), apiKeyRepository);
+        profile = authenticator.compile(vendor("vendor-1"));
+    }
+
+    @Test
+    void authenticate_WithStoredKey_ShouldSucceed() {
+        // given
+        apiKeyRepository.create("vendor-1", "key-0123456789", null, null);
+
+        // when
+        AuthenticationResponse response = authenticator.authenticate(profile, request("key-0123456789"));
+
+        // then
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getVendorId()).isEqualTo("vendor-1");
+    }
+
+    @Test
+    void authenticate_WithKeyOfAnotherVendor_ShouldFail() {
+        // given
+        apiKeyRepository.create("vendor-2", "key-0123456789", null, null);
+
+        // when
+        AuthenticationResponse response = authenticator.authenticate(profile, request("key-0123456789"));
+
+        // then
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getErrorCode()).isEqualTo("INVALID_API_KEY");
+    }
+
+    @Test
+    void authenticate_WithRevokedKey_ShouldFail() {
+        // given
+        VendorApiKey created = apiKeyRepository.create("vendor-1", "key-0123456789", null, null);
+        created.setId(7L);
+        when(mapper.findById(7L)).thenReturn(created);
+        apiKeyRepository.revoke(7L);
+
+        // when
+        AuthenticationResponse response = authenticator.authenticate(profile, request("key-0123456789"));
+
+        // then
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getErrorCode()).isEqualTo("INVALID_API_KEY");
+    }
+
+    @Test
+    void authenticate_WithoutKey_ShouldFail() {
+        // when
+        AuthenticationResponse response = authenticator.authenticate(profile, request(" "));
+
+        // then
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getErrorCode()).isEqualTo("MISSING_API_KEY");
+    }
+
+    private static VendorConfig vendor(String vendorId) {
+        VendorConfig config = new VendorConfig();
+        config.setVendorId(vendorId);
+        config.setAuthType(AuthType.API_KEY);
+        config.setAuthDetailsJson("{\"apiKeyHeader\": \"X-API-Key\"}");
+        return config;
+    }
+
+    private static AuthenticationRequest request(String apiKey) {
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setToken(apiKey);
+        return request;
+    }
+}
@@ -0,0 +1,146 @@
+package com.vendorauth.service.impl;
+
+import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.entity.VendorConfig;
+import com.vendorauth.enums.AuthType;
+import com.vendorauth.exception.AuthenticationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ClientCredentialsTokenCacheTest {
+
+    private static final VendorConfig VENDOR = vendor(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+    private ClientCredentialsTokenCache tokenCache;
+    private AtomicInteger fetches;
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new ClientCredentialsTokenCache(new SimpleMeterRegistry(), Duration.ofSeconds(30), 100);
+        fetches = new AtomicInteger();
+    }
+
+    @Test
+    void getToken_WithConcurrentMisses_ShouldFetchOnce() throws Exception {
+        // given
+        int callers = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<AuthenticationResponse>> results = new ArrayList<>();
+
+        // when
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> tokenCache.getToken(VENDOR, "client", "read", () -> {
+                    awaitQuietly(release);
+                    return tokenResponse(LocalDateTime.now().plusHours(1));
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            // then
+            for (Future<AuthenticationResponse> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getAccessToken()).isEqualTo("token-1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(fetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getToken_WithinSkewOfExpiry_ShouldNotCache() {
+        // when
+        tokenCache.getToken(VENDOR, "client", null, () -> tokenResponse(LocalDateTime.now().plusSeconds(10)));
+        AuthenticationResponse second = tokenCache.getToken(VENDOR, "client", null,
+                () -> tokenResponse(LocalDateTime.now().plusSeconds(10)));
+
+        // then
+        assertThat(second.getAccessToken()).isEqualTo("token-2");
+    }
+
+    @Test
+    void getToken_AfterFailure_ShouldFetchAgain() {
+        // given
+        assertThatThrownBy(() -> tokenCache.getToken(VENDOR, "client", null, () -> {
+            throw new AuthenticationException("vendor", "OAUTH2_AUTH_ERROR", "upstream down");
+        })).isInstanceOf(AuthenticationException.class).hasMessage("upstream down");
+
+        // when
+        AuthenticationResponse response = tokenCache.getToken(VENDOR, "client", null,
+                () -> tokenResponse(LocalDateTime.now().plusHours(1)));
+
+        // then
+        assertThat(response.getAccessToken()).isEqualTo("token-1");
+    }
+
+    @Test
+    void getToken_AfterErrorInFetcher_ShouldFetchAgain() {
+        // given
+        assertThatThrownBy(() -> tokenCache.getToken(VENDOR, "client", null, () -> {
+            throw new NoClassDefFoundError("broken client");
+        })).isInstanceOf(NoClassDefFoundError.class);
+
+        // when
+        AuthenticationResponse response = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> tokenCache.getToken(VENDOR, "client", null, () -> tokenResponse(LocalDateTime.now().plusHours(1))));
+
+        // then
+        assertThat(response.getAccessToken()).isEqualTo("token-1");
+    }
+
+    @Test
+    void getToken_AfterVendorChanged_ShouldFetchAgain() {
+        // given
+        tokenCache.getToken(VENDOR, "client", null, () -> tokenResponse(LocalDateTime.now().plusHours(1)));
+
+        // when
+        AuthenticationResponse response = tokenCache.getToken(vendor(VENDOR.getUpdatedAt().plusMinutes(1)),
+                "client", null, () -> tokenResponse(LocalDateTime.now().plusHours(1)));
+
+        // then
+        assertThat(response.getAccessToken()).isEqualTo("token-2");
+    }
+
+    private static VendorConfig vendor(LocalDateTime version) {
+        VendorConfig config = new VendorConfig();
+        config.setVendorId("vendor");
+        config.setAuthType(AuthType.OAUTH2);
+        config.setUpdatedAt(version);
+        return config;
+    }
+
+    private AuthenticationResponse tokenResponse(LocalDateTime tokenExpiry) {
+        return AuthenticationResponse.builder()
+                .success(true)
+                .vendorId("vendor")
+                .accessToken("token-" + fetches.incrementAndGet())
+                .tokenExpiry(tokenExpiry)
+                .build();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
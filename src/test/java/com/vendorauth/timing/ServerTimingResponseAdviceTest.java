@@ -0,0 +1,107 @@
+package com.vendorauth.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vendorauth.controller.VendorAuthenticationController;
+import com.vendorauth.dto.AuthenticationResponse;
+import com.vendorauth.service.VendorAuthenticationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+class ServerTimingResponseAdviceTest {
+
+    private VendorAuthenticationService service;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        service = mock(VendorAuthenticationService.class);
+        when(service.authenticateAsync(eq("vendor-1"), any())).thenAnswer(invocation -> {
+            // Stages recorded on the request thread, as the service does
+            ServerTiming.current().record(ServerTiming.Stage.DB, System.nanoTime() - 1_000_000);
+            ServerTiming.current().record(ServerTiming.Stage.AUTHN, System.nanoTime() - 5_000_000);
+            return CompletableFuture.completedFuture(AuthenticationResponse.success("vendor-1", "ok"));
+        });
+        mockMvc = MockMvcBuilders.standaloneSetup(new VendorAuthenticationController(service))
+                .addInterceptors(new ServerTimingInterceptor(true, "X-Server-Timing"))
+                .setControllerAdvice(new ServerTimingResponseAdvice())
+                .setMessageConverters(new ServerTimingJacksonConverter(new ObjectMapper().findAndRegisterModules()))
+                .build();
+    }
+
+    @Test
+    void authenticate_WithOptInHeader_ShouldReturnServerTiming() throws Exception {
+        // when
+        MvcResult started = mockMvc.perform(post("/api/v1/authenticate/vendor/vendor-1")
+                        .header("X-Server-Timing", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingResponseAdvice.SERVER_TIMING,
+                        allOf(containsString("db;dur="), containsString("authn;dur="), containsString("serialize;dur="))))
+                .andExpect(jsonPath("$.vendorId").value("vendor-1"))
+                .andExpect(jsonPath("$.success").value(true));
+    }
+
+    @Test
+    void authenticate_WithOtherJsonConverter_ShouldReturnServerTimingWithoutSerialize() throws Exception {
+        // given
+        mockMvc = MockMvcBuilders.standaloneSetup(new VendorAuthenticationController(service))
+                .addInterceptors(new ServerTimingInterceptor(true, "X-Server-Timing"))
+                .setControllerAdvice(new ServerTimingResponseAdvice())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(new ObjectMapper().findAndRegisterModules()))
+                .build();
+
+        // when
+        MvcResult started = mockMvc.perform(post("/api/v1/authenticate/vendor/vendor-1")
+                        .header("X-Server-Timing", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingResponseAdvice.SERVER_TIMING,
+                        allOf(containsString("authn;dur="), not(containsString("serialize")))));
+    }
+
+    @Test
+    void authenticate_WithoutOptInHeader_ShouldNotReturnServerTiming() throws Exception {
+        // when
+        MvcResult started = mockMvc.perform(post("/api/v1/authenticate/vendor/vendor-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingResponseAdvice.SERVER_TIMING));
+    }
+}
@@ -0,0 +1,70 @@
+package com.vendorauth.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerTimingTest {
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        ServerTiming.unbind();
+        worker.shutdownNow();
+    }
+
+    @Test
+    void current_WithoutBoundTiming_ShouldBeDisabled() {
+        // when
+        ServerTiming timing = ServerTiming.current();
+        timing.record(ServerTiming.Stage.DB, System.nanoTime() - 1_000_000);
+
+        // then
+        assertThat(timing).isSameAs(ServerTiming.DISABLED);
+        assertThat(timing.headerValue()).isEmpty();
+        assertThat(timing.propagate(worker)).isSameAs(worker);
+    }
+
+    @Test
+    void headerValue_ShouldListRecordedStagesInOrderAndSumRepeats() {
+        // given
+        ServerTiming timing = ServerTiming.create();
+        long now = System.nanoTime();
+
+        // when
+        timing.record(ServerTiming.Stage.UPSTREAM, now - 2_000_000);
+        timing.record(ServerTiming.Stage.DB, now - 1_000_000);
+        timing.record(ServerTiming.Stage.UPSTREAM, now - 3_000_000);
+
+        // then - durations only grow with the time spent between the calls, so check lower bounds
+        Matcher header = Pattern.compile("db;dur=(\\d+\\.\\d\\d), upstream;dur=(\\d+\\.\\d\\d)")
+                .matcher(timing.headerValue());
+        assertThat(header.matches()).as(timing.headerValue()).isTrue();
+        assertThat(Double.parseDouble(header.group(1))).isGreaterThanOrEqualTo(1.0);
+        assertThat(Double.parseDouble(header.group(2))).isGreaterThanOrEqualTo(5.0);
+    }
+
+    @Test
+    void propagate_ShouldBindTimingOnWorkerThread() {
+        // given
+        ServerTiming timing = ServerTiming.create();
+
+        // when
+        ServerTiming seenByWorker = CompletableFuture
+                .supplyAsync(ServerTiming::current, timing.propagate(worker))
+                .join();
+        ServerTiming afterTask = CompletableFuture.supplyAsync(ServerTiming::current, worker).join();
+
+        // then
+        assertThat(seenByWorker).isSameAs(timing);
+        assertThat(afterTask).isSameAs(ServerTiming.DISABLED);
+    }
+}
@@ -18,3 +18,18 @@ CREATE TABLE vendor_configs (
 
 CREATE INDEX idx_vendor_id ON vendor_configs(vendor_id);
 CREATE INDEX idx_vendor_active ON vendor_configs(active);
+
+DROP TABLE IF EXISTS vendor_api_keys;
+
+CREATE TABLE vendor_api_keys (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    vendor_id VARCHAR(255) NOT NULL,
+    key_digest CHAR(64) NOT NULL UNIQUE,
+    active BIT NOT NULL DEFAULT 1,
+    expires_at TIMESTAMP,
+    description VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_api_key_updated_at ON vendor_api_keys(updated_at);